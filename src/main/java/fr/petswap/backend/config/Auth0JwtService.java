@@ -3,28 +3,50 @@ package fr.petswap.backend.config;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 import fr.petswap.backend.dao.jpa.Profile;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 
 @Service
 public class Auth0JwtService {
     private final Algorithm algorithm = Algorithm.HMAC256("votre-secret-tres-secure");
+    // Le vérificateur est immuable et thread-safe : construit une seule fois
+    private final JWTVerifier verifier = JWT.require(algorithm).build();
+    private final long accessTokenTtlMillis;
 
+    public Auth0JwtService() {
+        this(Duration.ofMinutes(15));
+    }
+
+    @Autowired
+    public Auth0JwtService(AuthProperties properties) {
+        this(properties.tokens().accessTokenTtl());
+    }
+
+    private Auth0JwtService(Duration accessTokenTtl) {
+        this.accessTokenTtlMillis = accessTokenTtl.toMillis();
+    }
+
+    /**
+     * Access token de courte durée ; la claim jti permet de le révoquer avant son expiration
+     */
     public String generateToken(Profile profile) {
         return JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
                 .withSubject(profile.getUsername())
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + 86400000)) // 24h
+                .withExpiresAt(new Date(System.currentTimeMillis() + accessTokenTtlMillis))
                 .withClaim("role", profile.getRole().name())
                 .withClaim("userId", profile.getId().toString()) // Ajouter l'ID utilisateur
                 .sign(algorithm);
     }
 
     public DecodedJWT verifyToken(String token) {
-        return JWT.require(algorithm)
-                .build()
-                .verify(token);
+        return verifier.verify(token);
     }
-}
\ No newline at end of file
+}
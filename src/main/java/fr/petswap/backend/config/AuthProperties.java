@@ -0,0 +1,47 @@
+package fr.petswap.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Réglages de l'authentification.
+ * Par défaut l'utilisateur est construit à partir des claims du token, sans accès à la base ;
+ * en mode strict il est relu depuis la base (via le cache des utilisateurs authentifiés).
+ */
+@ConfigurationProperties(prefix = "petswap.auth")
+public record AuthProperties(
+        @DefaultValue("false") boolean strict,
+        @DefaultValue PrincipalCache principalCache,
+        @DefaultValue PasswordHashing passwordHashing,
+        @DefaultValue Tokens tokens) {
+
+    /**
+     * Cache des utilisateurs authentifiés, indexé par la claim userId du token
+     */
+    public record PrincipalCache(
+            @DefaultValue("10000") int maxEntries,
+            @DefaultValue("5m") Duration ttl) {
+    }
+
+    /**
+     * Pool dédié au hachage BCrypt : au-delà de threads + queueCapacity demandes, réponse 503 immédiate
+     */
+    public record PasswordHashing(
+            @DefaultValue("4") int threads,
+            @DefaultValue("64") int queueCapacity,
+            @DefaultValue("5s") Duration waitTimeout) {
+    }
+
+    /**
+     * Durées de vie des tokens et dimensionnement de la liste de révocation gardée en mémoire
+     */
+    public record Tokens(
+            @DefaultValue("15m") Duration accessTokenTtl,
+            @DefaultValue("30d") Duration refreshTokenTtl,
+            @DefaultValue("100000") int revocationCapacity,
+            @DefaultValue("0.001") double revocationFalsePositiveRate,
+            @DefaultValue("1m") Duration revocationReload) {
+    }
+}
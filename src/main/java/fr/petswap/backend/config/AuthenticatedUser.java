@@ -0,0 +1,18 @@
+package fr.petswap.backend.config;
+
+import fr.petswap.backend.dao.jpa.Profile;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Utilisateur authentifié placé dans le SecurityContext : uniquement ce dont les contrôleurs ont besoin,
+ * immuable et sans lien avec la session JPA.
+ */
+public record AuthenticatedUser(UUID id, String username, Profile.Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
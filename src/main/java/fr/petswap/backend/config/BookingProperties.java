@@ -0,0 +1,28 @@
+package fr.petswap.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Réglages des réservations
+ */
+@ConfigurationProperties(prefix = "petswap.bookings")
+public record BookingProperties(@DefaultValue Lifecycle lifecycle, @DefaultValue IntervalIndex intervalIndex) {
+
+    /**
+     * Passage automatique CONFIRMED → IN_PROGRESS → COMPLETED selon les dates de garde
+     */
+    public record Lifecycle(
+            @DefaultValue("0 5 0 * * *") String cron,
+            @DefaultValue("1000") int chunkSize) {
+    }
+
+    /**
+     * Index en mémoire des périodes réservées : une annonce est relue en base au-delà de {@code ttl},
+     * pour oublier les réservations libérées par une autre instance
+     */
+    public record IntervalIndex(@DefaultValue("5m") Duration ttl) {
+    }
+}
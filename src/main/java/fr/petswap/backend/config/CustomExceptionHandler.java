@@ -1,11 +1,13 @@
 package fr.petswap.backend.config;
 
 import fr.petswap.backend.exception.InvalidCredentialsException;
+import fr.petswap.backend.exception.ServiceOverloadedException;
 import fr.petswap.backend.exception.UserAlreadyExistsException;
 import fr.petswap.backend.exception.UserNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
@@ -40,6 +42,16 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return create(HttpStatus.CONFLICT, "Nom d'utilisateur déjà utilisé", ex, request);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    protected ResponseEntity<ProblemDetail> handleServiceOverloaded(ServiceOverloadedException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problemDetail.setTitle("Service surchargé");
+        problemDetail.setInstance(getURI(request));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ProblemDetail> handleAll(Exception e, WebRequest request) {
         return switch (e) {
@@ -0,0 +1,42 @@
+package fr.petswap.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Réglages du moteur de découverte (swipes)
+ */
+@ConfigurationProperties(prefix = "petswap.discover")
+public record DiscoverProperties(@DefaultValue SwipedCache swipedCache, @DefaultValue Deck deck,
+                                 @DefaultValue Ranking ranking) {
+
+    /**
+     * Cache des annonces déjà swipées par utilisateur
+     */
+    public record SwipedCache(
+            @DefaultValue("10000") int maxEntries,
+            @DefaultValue("33554432") long maxBytes) {
+    }
+
+    /**
+     * Pile d'annonces précalculée par pet-sitter, rechargée en arrière-plan
+     */
+    public record Deck(
+            @DefaultValue("50") int size,
+            @DefaultValue("10") int lowWaterMark,
+            @DefaultValue("10000") int maxDecks,
+            @DefaultValue("2") int refillThreads,
+            @DefaultValue("1000") int refillQueueCapacity) {
+    }
+
+    /**
+     * Classement des annonces proposées : nombre de candidats évalués et poids de chaque critère
+     * (clé = nom du ListingScorer, poids 1 par défaut, 0 pour désactiver un critère)
+     */
+    public record Ranking(
+            @DefaultValue("500") int maxCandidates,
+            Map<String, Double> weights) {
+    }
+}
@@ -1,6 +1,8 @@
 // JwtAuthenticationFilter.java
 package fr.petswap.backend.config;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.repository.ProfileRepository;
@@ -9,6 +11,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,13 +20,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final Auth0JwtService jwtService;
     private final ProfileRepository profileRepository;
+    private final PrincipalCache principalCache;
+    private final AuthProperties authProperties;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,19 +45,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-
-        DecodedJWT decodedJWT = jwtService.verifyToken(token);
-        String username = decodedJWT.getSubject();
-
-        Profile profile = profileRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user;
+        try {
+            user = authenticate(authHeader.substring(7));
+        } catch (JWTVerificationException e) {
+            // Token expiré, révoqué ou invalide : la requête continue sans authentification.
+            // Les routes publiques (refresh, logout) restent accessibles, les autres répondent 401.
+            log.debug("Token rejeté pour {} : {}", request.getRequestURI(), e.getMessage());
+            SecurityContextHolder.clearContext();
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + profile.getRole().name());
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.role().name());
         UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(profile, null, List.of(authority));
+                new UsernamePasswordAuthenticationToken(user, null, List.of(authority));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Vérifie le token et construit l'utilisateur authentifié
+     */
+    AuthenticatedUser authenticate(String token) {
+        DecodedJWT decodedJWT = jwtService.verifyToken(token);
+        // Les tokens émis avant l'ajout de la claim jti ne sont pas révocables
+        String tokenId = decodedJWT.getId();
+        if (tokenId != null && tokenRevocationList.isRevoked(UUID.fromString(tokenId))) {
+            throw new JWTVerificationException("Token révoqué");
+        }
+
+        String userId = decodedJWT.getClaim("userId").asString();
+        Claim role = decodedJWT.getClaim("role");
+
+        // Token complet et mode non strict : les claims signées suffisent, aucun accès à la base
+        if (!authProperties.strict() && userId != null && !role.isMissing()) {
+            return new AuthenticatedUser(UUID.fromString(userId), decodedJWT.getSubject(), Profile.Role.valueOf(role.asString()));
+        }
+
+        Optional<AuthenticatedUser> user = userId != null
+                ? principalCache.get(UUID.fromString(userId), id -> profileRepository.findPrincipalById(id).map(JwtAuthenticationFilter::toUser))
+                : profileRepository.findPrincipalByUsername(decodedJWT.getSubject()).map(JwtAuthenticationFilter::toUser);
+        // Compte supprimé depuis l'émission du token : traité comme un token invalide (401)
+        return user.orElseThrow(() -> new JWTVerificationException("Utilisateur du token introuvable"));
+    }
+
+    private static AuthenticatedUser toUser(ProfileRepository.ProfilePrincipal profile) {
+        return new AuthenticatedUser(profile.getId(), profile.getUsername(), profile.getRole());
+    }
 }
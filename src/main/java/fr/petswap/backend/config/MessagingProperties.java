@@ -0,0 +1,24 @@
+package fr.petswap.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Réglages de la messagerie
+ */
+@ConfigurationProperties(prefix = "petswap.messages")
+public record MessagingProperties(@DefaultValue Stream stream) {
+
+    /**
+     * Flux SSE par utilisateur : un flux dont le tampon déborde est fermé, le client se reconnecte
+     * et rattrape les messages manqués avec le curseur after de l'historique
+     */
+    public record Stream(
+            @DefaultValue("64") int bufferSize,
+            @DefaultValue("25s") Duration heartbeat,
+            @DefaultValue("30m") Duration timeout,
+            @DefaultValue("5") int maxStreamsPerUser) {
+    }
+}
@@ -0,0 +1,140 @@
+package fr.petswap.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache des utilisateurs authentifiés, pour éviter une lecture du profil à chaque requête.
+ * Borné en nombre d'entrées (LRU) et en durée de vie ; invalidé quand le nom d'utilisateur ou le rôle change.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String METRIC_PREFIX = "petswap.principal.cache";
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+
+    private static final class PendingLoad {
+        private int loaders;
+        private boolean invalidated;
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Chargements en cours : une invalidation pendant la lecture en base empêche d'installer l'ancienne version
+    private final Map<UUID, PendingLoad> pendingLoads = new HashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public PrincipalCache(AuthProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    PrincipalCache(AuthProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.maxEntries = properties.principalCache().maxEntries();
+        this.ttlNanos = properties.principalCache().ttl().toNanos();
+        this.nanoTime = nanoTime;
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder(METRIC_PREFIX + ".evictions").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Retourne l'utilisateur en cache, ou le charge via {@code loader} (vide si l'utilisateur n'existe plus)
+     */
+    public Optional<AuthenticatedUser> get(UUID userId, Function<UUID, Optional<AuthenticatedUser>> loader) {
+        long now = nanoTime.getAsLong();
+        PendingLoad pending;
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt() - now > 0) {
+                hits.increment();
+                return Optional.of(entry.user());
+            }
+            pending = pendingLoads.computeIfAbsent(userId, id -> new PendingLoad());
+            pending.loaders++;
+        }
+
+        misses.increment();
+        // Chargement hors verrou pour ne pas bloquer les autres requêtes pendant l'accès à la base
+        Optional<AuthenticatedUser> loaded = Optional.empty();
+        try {
+            loaded = loader.apply(userId);
+        } finally {
+            complete(userId, pending, loaded.map(user -> new Entry(user, now + ttlNanos)).orElse(null));
+        }
+        return loaded;
+    }
+
+    /**
+     * Retire l'utilisateur du cache, immédiatement et de nouveau après le commit de la transaction en cours
+     * (une requête concurrente a pu recharger l'ancienne version entre-temps)
+     */
+    public void invalidate(UUID userId) {
+        remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(UUID userId) {
+        entries.remove(userId);
+        // Les chargements déjà lancés ont pu lire l'ancienne version ; les suivants repartent d'un nouveau marqueur
+        PendingLoad pending = pendingLoads.remove(userId);
+        if (pending != null) {
+            pending.invalidated = true;
+        }
+    }
+
+    /**
+     * Termine un chargement et installe son résultat, sauf si l'utilisateur a été invalidé pendant la lecture
+     * (entry est null si l'utilisateur n'existe plus ou si la lecture a échoué)
+     */
+    private synchronized void complete(UUID userId, PendingLoad pending, Entry entry) {
+        if (--pending.loaders == 0) {
+            pendingLoads.remove(userId, pending);
+        }
+        if (entry == null || pending.invalidated) {
+            return;
+        }
+        entries.put(userId, entry);
+        Iterator<Map.Entry<UUID, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package fr.petswap.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Réglages des statistiques publiques : l'instantané est recalculé à cet intervalle
+ * et les réponses peuvent être mises en cache (navigateurs, CDN) pendant la même durée
+ */
+@ConfigurationProperties(prefix = "petswap.statistics")
+public record StatisticsProperties(
+        @DefaultValue("5m") Duration refreshInterval,
+        @DefaultValue Rollups rollups) {
+
+    /**
+     * Agrégats journaliers : les événements sont cumulés en mémoire puis écrits à cet intervalle
+     */
+    public record Rollups(
+            @DefaultValue("10s") Duration flushInterval,
+            @DefaultValue("366") int maxDays) {
+    }
+}
@@ -0,0 +1,111 @@
+package fr.petswap.backend.config;
+
+import fr.petswap.backend.dao.jpa.RevokedToken;
+import fr.petswap.backend.dao.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Liste des access tokens révoqués (par jti), vérifiée à chaque requête authentifiée.
+ * Un filtre de Bloom en mémoire répond "non révoqué" sans accès à la base dans la quasi-totalité des cas ;
+ * seuls les tokens réellement révoqués et les faux positifs sont confirmés dans la table revoked_tokens.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final String METRIC_PREFIX = "petswap.token.revocation";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int capacity;
+    private final double falsePositiveRate;
+
+    // Null tant que la table n'a pas été lue : chaque vérification passe alors par la base
+    private volatile BloomFilter filter;
+    private volatile int loadedCount;
+    // Révocations locales depuis le dernier rechargement, reportées dans le filtre suivant
+    private final Set<UUID> revokedSinceReload = new HashSet<>();
+
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               AuthProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.capacity = properties.tokens().revocationCapacity();
+        this.falsePositiveRate = properties.tokens().revocationFalsePositiveRate();
+
+        this.revokedHits = Counter.builder(METRIC_PREFIX + ".lookups").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder(METRIC_PREFIX + ".lookups").tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, list -> list.loadedCount).register(meterRegistry);
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return false;
+        }
+
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        if (revoked) {
+            revokedHits.increment();
+        } else if (current != null) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Révoque un access token jusqu'à son expiration naturelle
+     */
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        synchronized (this) {
+            revokedSinceReload.add(tokenId);
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(tokenId);
+            }
+        }
+        log.info("Token {} révoqué", tokenId);
+    }
+
+    /**
+     * Purge les révocations expirées et reconstruit le filtre depuis la table,
+     * pour prendre en compte les révocations faites par les autres instances
+     */
+    @Scheduled(fixedDelayString = "${petswap.auth.tokens.revocation-reload:1m}")
+    public void reload() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<UUID> tokenIds = revokedTokenRepository.findActiveTokenIds(now);
+
+        // Le filtre grandit avec la table pour garder le taux de faux positifs visé
+        BloomFilter fresh = new BloomFilter(Math.max(capacity, tokenIds.size() * 2), falsePositiveRate);
+        tokenIds.forEach(fresh::put);
+
+        synchronized (this) {
+            // Une révocation a pu être enregistrée après la lecture de la table
+            revokedSinceReload.forEach(fresh::put);
+            revokedSinceReload.clear();
+            filter = fresh;
+            loadedCount = tokenIds.size();
+        }
+        log.debug("Liste de révocation rechargée : {} tokens, {} expirés purgés", tokenIds.size(), purged);
+    }
+}
@@ -1,8 +1,10 @@
 package fr.petswap.backend.controller;
 
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.dto.ProfileDto;
 import fr.petswap.backend.dto.auth.AuthRequest;
 import fr.petswap.backend.dto.auth.AuthResponse;
+import fr.petswap.backend.dto.auth.RefreshRequest;
 import fr.petswap.backend.service.AuthService;
 import fr.petswap.backend.service.ProfileService;
 import lombok.RequiredArgsConstructor;
@@ -31,8 +33,17 @@ public class AuthController {
         return authService.register(request);
     }
 
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@RequestBody RefreshRequest request) {
+        return authService.refresh(request.getRefreshToken());
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
+    public ResponseEntity<Map<String, String>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                      @RequestBody(required = false) RefreshRequest request) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+
         Map<String, String> response = new HashMap<>();
         response.put("message", "Déconnexion réussie");
         return ResponseEntity.ok(response);
@@ -40,12 +51,9 @@ public class AuthController {
 
     @GetMapping("/me")
     public ResponseEntity<ProfileDto> getCurrentUser(Authentication authentication) {
-        // Récupérer l'ID utilisateur depuis le token JWT
-        String username = authentication.getName(); // ou récupérer l'ID selon votre implémentation JWT
-
-        // Appeler le ProfileService pour récupérer le profil
-        ProfileDto profile = profileService.getProfileByUsername(username); // ou getProfileById si vous avez l'ID
-
+        // Par identifiant : le nom porté par le token peut être antérieur à un renommage
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ProfileDto profile = profileService.getProfileById(currentUser.id());
         return ResponseEntity.ok(profile);
     }
 
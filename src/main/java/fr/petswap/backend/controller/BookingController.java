@@ -1,7 +1,7 @@
 package fr.petswap.backend.controller;
 
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.dao.jpa.Booking;
-import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dto.BookingDto;
 import fr.petswap.backend.dto.CreateBookingRequest;
 import fr.petswap.backend.service.BookingService;
@@ -23,8 +23,8 @@ public class BookingController {
     public ResponseEntity<BookingDto> createBooking(
             @RequestBody CreateBookingRequest request,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        BookingDto booking = bookingService.createBooking(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        BookingDto booking = bookingService.createBooking(currentUser.id(), request);
         return ResponseEntity.ok(booking);
     }
 
@@ -32,8 +32,8 @@ public class BookingController {
     public ResponseEntity<BookingDto> confirmBooking(
             @PathVariable Integer bookingId,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        BookingDto booking = bookingService.confirmBooking(currentUser.getId(), bookingId);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        BookingDto booking = bookingService.confirmBooking(currentUser.id(), bookingId);
         return ResponseEntity.ok(booking);
     }
 
@@ -41,8 +41,8 @@ public class BookingController {
     public ResponseEntity<BookingDto> rejectBooking(
             @PathVariable Integer bookingId,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        BookingDto booking = bookingService.rejectBooking(currentUser.getId(), bookingId);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        BookingDto booking = bookingService.rejectBooking(currentUser.id(), bookingId);
         return ResponseEntity.ok(booking);
     }
 
@@ -50,8 +50,8 @@ public class BookingController {
     public ResponseEntity<BookingDto> completeBooking(
             @PathVariable Integer bookingId,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        BookingDto booking = bookingService.completeBooking(currentUser.getId(), bookingId);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        BookingDto booking = bookingService.completeBooking(currentUser.id(), bookingId);
         return ResponseEntity.ok(booking);
     }
 
@@ -59,8 +59,8 @@ public class BookingController {
     public ResponseEntity<BookingDto> cancelBooking(
             @PathVariable Integer bookingId,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        BookingDto booking = bookingService.cancelBooking(currentUser.getId(), bookingId);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        BookingDto booking = bookingService.cancelBooking(currentUser.id(), bookingId);
         return ResponseEntity.ok(booking);
     }
 
@@ -72,46 +72,46 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<List<BookingDto>> getMyBookings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<BookingDto> bookings = bookingService.getBookingsForUser(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<BookingDto> bookings = bookingService.getBookingsForUser(currentUser.id());
         return ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/pending")
     public ResponseEntity<List<BookingDto>> getPendingBookings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         List<BookingDto> bookings = bookingService.getBookingsForUserByStatus(
-            currentUser.getId(), Booking.BookingStatus.PENDING);
+            currentUser.id(), Booking.BookingStatus.PENDING);
         return ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/confirmed")
     public ResponseEntity<List<BookingDto>> getConfirmedBookings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         List<BookingDto> bookings = bookingService.getBookingsForUserByStatus(
-            currentUser.getId(), Booking.BookingStatus.CONFIRMED);
+            currentUser.id(), Booking.BookingStatus.CONFIRMED);
         return ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/completed")
     public ResponseEntity<List<BookingDto>> getCompletedBookings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         List<BookingDto> bookings = bookingService.getBookingsForUserByStatus(
-            currentUser.getId(), Booking.BookingStatus.COMPLETED);
+            currentUser.id(), Booking.BookingStatus.COMPLETED);
         return ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/as-pet-sitter")
     public ResponseEntity<List<BookingDto>> getBookingsAsPetSitter(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<BookingDto> bookings = bookingService.getBookingsAsPetSitter(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<BookingDto> bookings = bookingService.getBookingsAsPetSitter(currentUser.id());
         return ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/as-owner")
     public ResponseEntity<List<BookingDto>> getBookingsAsOwner(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<BookingDto> bookings = bookingService.getBookingsAsOwner(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<BookingDto> bookings = bookingService.getBookingsAsOwner(currentUser.id());
         return ResponseEntity.ok(bookings);
     }
 
@@ -119,8 +119,8 @@ public class BookingController {
     public ResponseEntity<BookingDto> createRebooking(
             @RequestBody fr.petswap.backend.dto.RebookingRequest request,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        BookingDto booking = bookingService.createRebooking(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        BookingDto booking = bookingService.createRebooking(currentUser.id(), request);
         return ResponseEntity.ok(booking);
     }
 }
@@ -1,14 +1,17 @@
 package fr.petswap.backend.controller;
 
-import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.dto.CreateListingRequest;
+import fr.petswap.backend.dto.ListingAvailabilityDto;
 import fr.petswap.backend.dto.ListingDto;
 import fr.petswap.backend.service.ListingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,22 +23,28 @@ public class ListingController {
 
     @PostMapping
     public ResponseEntity<ListingDto> createListing(@RequestBody CreateListingRequest request, Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        ListingDto listing = listingService.createListing(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ListingDto listing = listingService.createListing(currentUser.id(), request);
         return ResponseEntity.ok(listing);
     }
 
     @GetMapping("/my-listings")
     public ResponseEntity<List<ListingDto>> getMyListings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<ListingDto> listings = listingService.getListingsByOwner(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<ListingDto> listings = listingService.getListingsByOwner(currentUser.id());
         return ResponseEntity.ok(listings);
     }
 
     @GetMapping("/browse")
-    public ResponseEntity<List<ListingDto>> browseListings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<ListingDto> listings = listingService.getActiveListings(currentUser.getId());
+    public ResponseEntity<List<ListingDto>> browseListings(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<ListingDto> listings = lat != null && lng != null
+                ? listingService.getNearbyListings(currentUser.id(), lat, lng, radiusKm)
+                : listingService.getActiveListings(currentUser.id());
         return ResponseEntity.ok(listings);
     }
 
@@ -45,6 +54,15 @@ public class ListingController {
         return ResponseEntity.ok(listing);
     }
 
+    @GetMapping("/{listingId}/availability")
+    public ResponseEntity<ListingAvailabilityDto> getAvailability(
+            @PathVariable Integer listingId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ListingAvailabilityDto availability = listingService.getAvailability(listingId, from, to);
+        return ResponseEntity.ok(availability);
+    }
+
     @PutMapping("/{listingId}")
     public ResponseEntity<ListingDto> updateListing(@PathVariable Integer listingId, @RequestBody CreateListingRequest request) {
         ListingDto updatedListing = listingService.updateListing(listingId, request);
@@ -1,15 +1,19 @@
 package fr.petswap.backend.controller;
 
-import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.config.AuthenticatedUser;
+import fr.petswap.backend.dto.ConversationPageDto;
 import fr.petswap.backend.dto.MessageDto;
+import fr.petswap.backend.dto.MessagePageDto;
+import fr.petswap.backend.dto.UnreadCountDto;
 import fr.petswap.backend.dto.SendMessageRequest;
 import fr.petswap.backend.service.MessageService;
+import fr.petswap.backend.service.MessageStreamHub;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -17,29 +21,62 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final MessageStreamHub messageStreamHub;
 
     @PostMapping
     public ResponseEntity<MessageDto> sendMessage(
             @RequestBody SendMessageRequest request,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        MessageDto message = messageService.sendMessage(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        MessageDto message = messageService.sendMessage(currentUser.id(), request);
         return ResponseEntity.ok(message);
     }
 
     @GetMapping("/match/{matchId}")
-    public ResponseEntity<List<MessageDto>> getMessagesForMatch(
+    public ResponseEntity<MessagePageDto> getMessagesForMatch(
             @PathVariable Integer matchId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<MessageDto> messages = messageService.getMessagesForMatch(matchId, currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        MessagePageDto messages = messageService.getMessagesForMatch(matchId, currentUser.id(), before, after, size);
         return ResponseEntity.ok(messages);
     }
 
+    @PostMapping("/match/{matchId}/read")
+    public ResponseEntity<UnreadCountDto> markConversationRead(
+            @PathVariable Integer matchId,
+            @RequestParam(required = false) Integer upTo,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        UnreadCountDto unread = messageService.markConversationRead(matchId, currentUser.id(), upTo);
+        return ResponseEntity.ok(unread);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDto> getUnreadCount(Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        UnreadCountDto unread = messageService.getUnreadCount(currentUser.id());
+        return ResponseEntity.ok(unread);
+    }
+
+    /**
+     * Flux SSE des messages reçus et envoyés par l'utilisateur connecté (événements "message")
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessages(Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        return messageStreamHub.subscribe(currentUser.id());
+    }
+
     @GetMapping("/conversations")
-    public ResponseEntity<List<MessageDto>> getMyConversations(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<MessageDto> conversations = messageService.getConversationsForUser(currentUser.getId());
+    public ResponseEntity<ConversationPageDto> getMyConversations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ConversationPageDto conversations = messageService.getConversationsForUser(currentUser.id(), cursor, size);
         return ResponseEntity.ok(conversations);
     }
 }
@@ -1,6 +1,6 @@
 package fr.petswap.backend.controller;
 
-import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.dto.CreatePetRequest;
 import fr.petswap.backend.dto.PetDto;
 import fr.petswap.backend.service.PetService;
@@ -20,15 +20,15 @@ public class PetController {
 
     @PostMapping
     public ResponseEntity<PetDto> createPet(@RequestBody CreatePetRequest request, Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        PetDto pet = petService.createPet(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        PetDto pet = petService.createPet(currentUser.id(), request);
         return ResponseEntity.ok(pet);
     }
 
     @GetMapping
     public ResponseEntity<List<PetDto>> getMyPets(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<PetDto> pets = petService.getPetsByOwner(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<PetDto> pets = petService.getPetsByOwner(currentUser.id());
         return ResponseEntity.ok(pets);
     }
 
@@ -1,9 +1,11 @@
 package fr.petswap.backend.controller;
 
-import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.dto.CreateReviewRequest;
 import fr.petswap.backend.dto.ReviewDto;
+import fr.petswap.backend.dto.ReviewPageDto;
 import fr.petswap.backend.dto.ReviewStatusDto;
+import fr.petswap.backend.dto.ReviewSummaryDto;
 import fr.petswap.backend.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,8 +27,8 @@ public class ReviewController {
     public ResponseEntity<ReviewDto> createReview(
             @Valid @RequestBody CreateReviewRequest request,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        ReviewDto review = reviewService.createReview(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ReviewDto review = reviewService.createReview(currentUser.id(), request);
         return ResponseEntity.ok(review);
     }
 
@@ -42,25 +44,43 @@ public class ReviewController {
         return ResponseEntity.ok(status);
     }
 
+    @PostMapping("/status")
+    public ResponseEntity<List<ReviewStatusDto>> getReviewStatuses(
+            @RequestBody List<Integer> bookingIds,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<ReviewStatusDto> statuses = reviewService.getReviewStatuses(currentUser.id(), bookingIds);
+        return ResponseEntity.ok(statuses);
+    }
+
     @GetMapping("/booking/{bookingId}/can-review")
     public ResponseEntity<Boolean> canReviewBooking(
             @PathVariable Integer bookingId,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        boolean canReview = reviewService.canUserReviewBooking(currentUser.getId(), bookingId);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        boolean canReview = reviewService.canUserReviewBooking(currentUser.id(), bookingId);
         return ResponseEntity.ok(canReview);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ReviewDto>> getReviewsForUser(@PathVariable UUID userId) {
-        List<ReviewDto> reviews = reviewService.getReviewsForUser(userId);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<ReviewPageDto> getReviewsForUser(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ReviewPageDto page = reviewService.getReviewsForUser(userId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<ReviewSummaryDto> getReviewSummary(@PathVariable UUID userId) {
+        ReviewSummaryDto summary = reviewService.getReviewSummary(userId);
+        return ResponseEntity.ok(summary);
     }
 
     @GetMapping("/my-reviews")
     public ResponseEntity<List<ReviewDto>> getMyReviews(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<ReviewDto> reviews = reviewService.getReviewsByReviewer(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<ReviewDto> reviews = reviewService.getReviewsByReviewer(currentUser.id());
         return ResponseEntity.ok(reviews);
     }
 }
@@ -1,40 +1,50 @@
 package fr.petswap.backend.controller;
 
-import fr.petswap.backend.dao.repository.ProfileRepository;
-import fr.petswap.backend.dao.repository.MatchRepository;
-import fr.petswap.backend.dao.repository.BookingRepository;
-import fr.petswap.backend.dao.repository.ReviewRepository;
+import fr.petswap.backend.dto.StatisticsDto;
+import fr.petswap.backend.dto.TimeseriesDto;
+import fr.petswap.backend.service.StatisticsMetric;
+import fr.petswap.backend.service.StatisticsRollupService;
+import fr.petswap.backend.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/statistics")
 @RequiredArgsConstructor
 public class StatisticsController {
-    private final ProfileRepository profileRepository;
-    private final MatchRepository matchRepository;
-    private final BookingRepository bookingRepository;
-    private final ReviewRepository reviewRepository;
+    private final StatisticsService statisticsService;
+    private final StatisticsRollupService statisticsRollupService;
 
+    /**
+     * Statistiques publiques servies depuis l'instantané en mémoire.
+     * Spring répond 304 sans corps quand If-None-Match correspond à l'ETag.
+     */
     @GetMapping
-    public Map<String, Object> getStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        long totalUsers = profileRepository.count();
-        long totalMatches = matchRepository.count();
-        long totalBookings = bookingRepository.count();
-        // Note moyenne
-        Double averageRating = reviewRepository.getAverageRating();
-        if (averageRating == null) averageRating = 4.5;
-        stats.put("totalUsers", totalUsers);
-        stats.put("totalMatches", totalMatches);
-        stats.put("totalBookings", totalBookings);
-        stats.put("averageRating", Math.round(averageRating * 10.0) / 10.0);
-        return stats;
+    public ResponseEntity<StatisticsDto> getStatistics() {
+        StatisticsService.Snapshot snapshot = statisticsService.getSnapshot();
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .lastModified(snapshot.generatedAt())
+                .cacheControl(CacheControl.maxAge(statisticsService.getRefreshInterval()).cachePublic())
+                .body(snapshot.statistics());
     }
-}
 
+    /**
+     * Série journalière d'un indicateur (new-users, swipes, matches, bookings-*, booked-revenue), bornes incluses
+     */
+    @GetMapping("/timeseries")
+    public TimeseriesDto getTimeseries(
+            @RequestParam String metric,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return statisticsRollupService.getTimeseries(StatisticsMetric.fromKey(metric), from, to);
+    }
+}
@@ -1,16 +1,21 @@
 package fr.petswap.backend.controller;
 
-import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.config.AuthenticatedUser;
+import fr.petswap.backend.dto.DiscoverPageDto;
 import fr.petswap.backend.dto.ListingDto;
 import fr.petswap.backend.dto.MatchDto;
+import fr.petswap.backend.dto.SwipeBatchResultDto;
 import fr.petswap.backend.dto.SwipeDto;
 import fr.petswap.backend.dto.SwipeRequest;
+import fr.petswap.backend.service.DiscoverDeckService;
 import fr.petswap.backend.service.SwipeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -20,46 +25,91 @@ import java.util.Map;
 public class SwipeController {
 
     private final SwipeService swipeService;
+    private final DiscoverDeckService discoverDeckService;
 
     @PostMapping
     public ResponseEntity<SwipeDto> swipeOnListing(@RequestBody SwipeRequest request, Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        SwipeDto swipe = swipeService.swipeOnListing(currentUser.getId(), request);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        SwipeDto swipe = swipeService.swipeOnListing(currentUser.id(), request);
         return ResponseEntity.ok(swipe);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<SwipeBatchResultDto>> swipeOnListings(@RequestBody List<SwipeRequest> requests, Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<SwipeBatchResultDto> results = swipeService.swipeOnListings(currentUser.id(), requests);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/discover")
     public ResponseEntity<List<ListingDto>> getUnswipedListings(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<ListingDto> listings = swipeService.getUnswipedListings(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<ListingDto> listings = swipeService.getUnswipedListings(currentUser.id());
         return ResponseEntity.ok(listings);
     }
 
+    @GetMapping("/discover/page")
+    public ResponseEntity<DiscoverPageDto> getUnswipedListingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        DiscoverPageDto page = lat != null && lng != null
+                ? swipeService.getNearbyUnswipedListingsPage(currentUser.id(), lat, lng, radiusKm, cursor, size)
+                : swipeService.getUnswipedListingsPage(currentUser.id(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/discover/ranked")
+    public ResponseEntity<List<ListingDto>> getRankedListings(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<ListingDto> listings = swipeService.getRankedListings(currentUser.id(), lat, lng, radiusKm, from, to, size);
+        return ResponseEntity.ok(listings);
+    }
+
+    @GetMapping("/discover/next")
+    public ResponseEntity<ListingDto> getNextListing(Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        return discoverDeckService.nextListing(currentUser.id())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build()); // Plus d'annonces à proposer
+    }
+
     @GetMapping("/history")
     public ResponseEntity<List<SwipeDto>> getSwipeHistory(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<SwipeDto> swipes = swipeService.getSwipeHistory(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<SwipeDto> swipes = swipeService.getSwipeHistory(currentUser.id());
         return ResponseEntity.ok(swipes);
     }
 
     @GetMapping("/matches")
     public ResponseEntity<List<MatchDto>> getMatches(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<MatchDto> matches = swipeService.getMatchesForUser(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<MatchDto> matches = swipeService.getMatchesForUser(currentUser.id());
         return ResponseEntity.ok(matches);
     }
 
     @GetMapping("/matches/confirmed")
     public ResponseEntity<List<MatchDto>> getConfirmedMatches(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<MatchDto> matches = swipeService.getConfirmedMatchesForUser(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<MatchDto> matches = swipeService.getConfirmedMatchesForUser(currentUser.id());
         return ResponseEntity.ok(matches);
     }
 
     @GetMapping("/matches/pending")
     public ResponseEntity<List<MatchDto>> getPendingMatches(Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
-        List<MatchDto> matches = swipeService.getPendingMatchesForOwner(currentUser.getId());
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        List<MatchDto> matches = swipeService.getPendingMatchesForOwner(currentUser.id());
         return ResponseEntity.ok(matches);
     }
 
@@ -68,9 +118,9 @@ public class SwipeController {
             @PathVariable Integer matchId,
             @RequestBody Map<String, Boolean> request,
             Authentication authentication) {
-        Profile currentUser = (Profile) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         boolean accept = request.get("accept");
-        MatchDto match = swipeService.respondToMatch(currentUser.getId(), matchId, accept);
+        MatchDto match = swipeService.respondToMatch(currentUser.id(), matchId, accept);
 
         if (match == null) {
             return ResponseEntity.ok().build(); // Match rejeté et supprimé
@@ -26,6 +26,10 @@ public class Booking {
     @JoinColumn(name = "match_id", nullable = false)
     private Match match;
 
+    // Dénormalisé depuis le match pour la contrainte d'exclusion sur les périodes réservées
+    @Column(name = "listing_id", nullable = false)
+    private Integer listingId;
+
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
 
@@ -48,10 +48,25 @@ public class Listing {
 
     private String location;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    // Cellule de la grille géographique (GeoGrid), recalculée à chaque changement de coordonnées
+    @Column(name = "geo_cell")
+    private Integer geoCell;
+
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private ListingStatus status = ListingStatus.ACTIVE;
 
+    // Compteurs maintenus par delta à chaque transition de réservation (ListingRepository.adjustBookingCounters)
+    @Column(name = "active_booking_count", nullable = false, updatable = false)
+    private int activeBookingCount;
+
+    @Column(name = "completed_booking_count", nullable = false, updatable = false)
+    private int completedBookingCount;
+
     @Column(name = "created_at")
     @CreationTimestamp
     private Instant createdAt;
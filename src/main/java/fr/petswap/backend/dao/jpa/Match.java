@@ -8,7 +8,7 @@ import java.util.Set;
 import java.time.Instant;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", uniqueConstraints = @UniqueConstraint(name = "uk_matches_listing_pet_sitter", columnNames = {"listing_id", "pet_sitter_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,8 +37,16 @@ public class Profile {
 
     private String bio;
 
+    // Note moyenne dérivée de rating_sum / rating_count, écrite uniquement par ProfileRepository.addRating
+    @Column(updatable = false)
     private float rating = 0;
 
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    private int ratingCount;
+
     @Column(name = "created_at")
     @CreationTimestamp
     private Instant createdAt;
@@ -0,0 +1,28 @@
+package fr.petswap.backend.dao.jpa;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Access token révoqué avant son expiration (claim jti).
+ * La ligne peut être supprimée dès que le token aurait expiré de lui-même.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id")
+    private UUID tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -7,7 +7,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "swipes")
+@Table(name = "swipes", uniqueConstraints = @UniqueConstraint(name = "uk_swipes_swiper_listing", columnNames = {"swiper_id", "listing_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,76 @@
+package fr.petswap.backend.dao.repository;
+
+import fr.petswap.backend.dao.jpa.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mises à jour ensemblistes des réservations et des compteurs d'annonce, pour les traitements de masse
+ * (une requête par lot plutôt qu'un save par entité).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record TransitionedBooking(Integer bookingId, Integer listingId) {
+    }
+
+    /**
+     * Passe en IN_PROGRESS au plus {@code limit} réservations confirmées dont la garde a commencé
+     */
+    public List<TransitionedBooking> startDueBookings(LocalDate today, int limit) {
+        return transition(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.IN_PROGRESS,
+                "start_date <= ?", today, limit);
+    }
+
+    /**
+     * Passe en COMPLETED au plus {@code limit} réservations en cours dont la garde est terminée
+     */
+    public List<TransitionedBooking> completeEndedBookings(LocalDate today, int limit) {
+        return transition(Booking.BookingStatus.IN_PROGRESS, Booking.BookingStatus.COMPLETED,
+                "end_date < ?", today, limit);
+    }
+
+    /**
+     * Reporte sur les compteurs des annonces les gardes terminées ({@code completedByListing} : nombre par annonce)
+     * et en déduit leur statut, avec les mêmes règles que ListingRepository.adjustBookingCounters.
+     */
+    public void completeListingBookings(Map<Integer, Integer> completedByListing, LocalDate today) {
+        if (completedByListing.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = completedByListing.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getValue(), entry.getValue(), Date.valueOf(today),
+                        entry.getValue(), entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(
+                "UPDATE listings SET active_booking_count = active_booking_count - ?, " +
+                "completed_booking_count = completed_booking_count + ?, status = CASE " +
+                "  WHEN status = 'INACTIVE' THEN status " +
+                "  WHEN active_booking_count - ? > 0 THEN 'RESERVED' " +
+                "  WHEN end_date < ? AND completed_booking_count + ? > 0 THEN 'COMPLETED' " +
+                "  ELSE 'ACTIVE' END " +
+                "WHERE listing_id = ?",
+                args);
+    }
+
+    private List<TransitionedBooking> transition(Booking.BookingStatus from, Booking.BookingStatus to,
+                                                 String dateCondition, LocalDate today, int limit) {
+        // SKIP LOCKED : deux instances qui lancent le traitement en même temps se partagent les lignes
+        return jdbcTemplate.query(
+                "UPDATE bookings SET status = ? WHERE booking_id IN (" +
+                "  SELECT booking_id FROM bookings WHERE status = ? AND " + dateCondition +
+                "  LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING booking_id, listing_id",
+                (rs, rowNum) -> new TransitionedBooking(rs.getInt("booking_id"), rs.getInt("listing_id")),
+                to.name(), from.name(), Date.valueOf(today), limit);
+    }
+}
@@ -3,9 +3,11 @@ package fr.petswap.backend.dao.repository;
 import fr.petswap.backend.dao.jpa.Booking;
 import fr.petswap.backend.dao.jpa.Match;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,15 +36,28 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
     @Query("SELECT b FROM Booking b WHERE b.match.id = :matchId AND b.status = 'COMPLETED'")
     List<Booking> findCompletedBookingsByMatchId(@Param("matchId") Integer matchId);
 
-    @Query("SELECT b FROM Booking b WHERE b.match.id = :matchId AND b.status IN ('CONFIRMED', 'IN_PROGRESS') AND ((b.startDate <= :endDate AND b.startDate >= :startDate) OR (b.endDate <= :endDate AND b.endDate >= :startDate))")
+    @Query("SELECT b FROM Booking b WHERE b.match.id = :matchId AND b.status IN ('CONFIRMED', 'IN_PROGRESS') AND b.startDate <= :endDate AND b.endDate >= :startDate")
     List<Booking> findConflictingBookings(@Param("matchId") Integer matchId, @Param("startDate") java.time.LocalDate startDate, @Param("endDate") java.time.LocalDate endDate);
 
     @Query("SELECT b FROM Booking b WHERE b.match.listing.id = :listingId AND b.status = 'CONFIRMED'")
     List<Booking> findConfirmedBookingsByListingId(@Param("listingId") Integer listingId);
 
-    @Query("SELECT b FROM Booking b WHERE b.match.listing.id = :listingId AND b.status IN ('CONFIRMED', 'IN_PROGRESS') AND ((b.startDate <= :endDate AND b.startDate >= :startDate) OR (b.endDate <= :endDate AND b.endDate >= :startDate))")
+    @Query("SELECT b FROM Booking b WHERE b.match.listing.id = :listingId AND b.status IN ('CONFIRMED', 'IN_PROGRESS') AND b.startDate <= :endDate AND b.endDate >= :startDate")
     List<Booking> findConflictingConfirmedBookings(@Param("listingId") Integer listingId, @Param("startDate") java.time.LocalDate startDate, @Param("endDate") java.time.LocalDate endDate);
 
+    @Query("SELECT b FROM Booking b WHERE b.match.listing.id = :listingId AND b.status IN ('CONFIRMED', 'IN_PROGRESS')")
+    List<Booking> findActiveBookingsByListingId(@Param("listingId") Integer listingId);
+
     @Query("SELECT b FROM Booking b WHERE b.match.id = :matchId AND b.status IN ('PENDING', 'CONFIRMED', 'IN_PROGRESS')")
     Optional<Booking> findActiveBookingByMatch(@Param("matchId") Integer matchId);
+
+    /**
+     * Change le statut d'une réservation seulement si elle est encore dans l'un des statuts attendus ;
+     * renvoie 0 si une transition concurrente (autre requête, traitement nocturne) est passée avant
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id = :bookingId AND b.status IN :expected")
+    int transitionStatus(@Param("bookingId") Integer bookingId,
+                         @Param("expected") Collection<Booking.BookingStatus> expected,
+                         @Param("status") Booking.BookingStatus status);
 }
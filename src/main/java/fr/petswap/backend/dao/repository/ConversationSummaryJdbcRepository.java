@@ -0,0 +1,103 @@
+package fr.petswap.backend.dao.repository;
+
+import fr.petswap.backend.dto.ConversationSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boîte de réception : une ligne par conversation et par participant, avec le dernier message,
+ * le nombre de messages non lus de ce participant et le dernier message qu'il a lu.
+ * Maintenue à chaque envoi et à chaque lecture ; seule une lecture partielle recompte quelques messages.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ConversationSummaryJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewMessage(Integer matchId, Integer messageId, UUID senderId, UUID recipientId,
+                             String preview, Instant sentAt) {
+    }
+
+    /**
+     * Reporte un message sur les deux lignes de la conversation ; seul le destinataire voit son compteur de non-lus augmenter.
+     * Si deux envois se croisent, le dernier message reste celui de plus grand identifiant.
+     */
+    public void recordMessage(NewMessage message) {
+        Timestamp sentAt = Timestamp.from(message.sentAt());
+        jdbcTemplate.update(
+                "INSERT INTO conversation_summaries AS cs " +
+                "(user_id, match_id, other_user_id, last_message_id, last_message_preview, last_sender_id, last_sent_at, unread_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, 0), (?, ?, ?, ?, ?, ?, ?, 1) " +
+                "ON CONFLICT (user_id, match_id) DO UPDATE SET " +
+                "  unread_count = cs.unread_count + EXCLUDED.unread_count, " +
+                "  last_message_id = GREATEST(cs.last_message_id, EXCLUDED.last_message_id), " +
+                "  last_message_preview = CASE WHEN EXCLUDED.last_message_id > cs.last_message_id THEN EXCLUDED.last_message_preview ELSE cs.last_message_preview END, " +
+                "  last_sender_id = CASE WHEN EXCLUDED.last_message_id > cs.last_message_id THEN EXCLUDED.last_sender_id ELSE cs.last_sender_id END, " +
+                "  last_sent_at = CASE WHEN EXCLUDED.last_message_id > cs.last_message_id THEN EXCLUDED.last_sent_at ELSE cs.last_sent_at END",
+                message.senderId(), message.matchId(), message.recipientId(), message.messageId(),
+                message.preview(), message.senderId(), sentAt,
+                message.recipientId(), message.matchId(), message.senderId(), message.messageId(),
+                message.preview(), message.senderId(), sentAt);
+    }
+
+    /**
+     * Conversations d'un utilisateur dont le dernier message est antérieur à {@code beforeMessageId},
+     * de la plus récente à la plus ancienne
+     */
+    public List<ConversationSummaryDto> findPageForUser(UUID userId, int beforeMessageId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT cs.match_id, cs.other_user_id, cs.last_message_id, cs.last_message_preview, cs.last_sender_id, " +
+                "cs.last_sent_at, cs.unread_count, cs.last_read_message_id, other.last_read_message_id AS other_last_read_message_id " +
+                "FROM conversation_summaries cs " +
+                "LEFT JOIN conversation_summaries other ON other.user_id = cs.other_user_id AND other.match_id = cs.match_id " +
+                "WHERE cs.user_id = ? AND cs.last_message_id < ? " +
+                "ORDER BY cs.last_message_id DESC LIMIT ?",
+                (rs, rowNum) -> new ConversationSummaryDto(
+                        rs.getInt("match_id"),
+                        rs.getObject("other_user_id", UUID.class),
+                        rs.getInt("last_message_id"),
+                        rs.getString("last_message_preview"),
+                        rs.getObject("last_sender_id", UUID.class),
+                        rs.getTimestamp("last_sent_at").toInstant(),
+                        rs.getInt("unread_count"),
+                        rs.getObject("last_read_message_id", Integer.class),
+                        rs.getObject("other_last_read_message_id", Integer.class)),
+                userId, beforeMessageId, limit);
+    }
+
+    /**
+     * Marque la conversation comme lue jusqu'au message {@code lastSeenMessageId}, le dernier que le client a affiché.
+     * La lecture n'avance jamais à reculons. Les non-lus ne sont remis à zéro que si ce message est le dernier de la
+     * conversation ; sinon on retire les messages de l'autre participant nouvellement lus, recomptés parmi les
+     * {@code unread_count} plus récents. Un message reçu pendant la lecture reste donc non lu.
+     */
+    public void markRead(UUID userId, Integer matchId, int lastSeenMessageId) {
+        jdbcTemplate.update(
+                "UPDATE conversation_summaries cs SET " +
+                "  unread_count = CASE WHEN ? >= cs.last_message_id THEN 0 ELSE GREATEST(cs.unread_count - (" +
+                "    SELECT COUNT(*) FROM (SELECT m.message_id FROM messages m " +
+                "                          WHERE m.match_id = cs.match_id AND m.sender_id = cs.other_user_id " +
+                "                          ORDER BY m.sent_at DESC, m.message_id DESC LIMIT cs.unread_count) tail " +
+                "    WHERE tail.message_id > COALESCE(cs.last_read_message_id, 0) AND tail.message_id <= ?), 0) END, " +
+                "  last_read_message_id = LEAST(?, cs.last_message_id) " +
+                "WHERE cs.user_id = ? AND cs.match_id = ? AND ? > COALESCE(cs.last_read_message_id, 0)",
+                lastSeenMessageId, lastSeenMessageId, lastSeenMessageId, userId, matchId, lastSeenMessageId);
+    }
+
+    /**
+     * Total des non-lus d'un utilisateur, à partir des compteurs de ses conversations
+     */
+    public long countUnread(UUID userId) {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(unread_count), 0) FROM conversation_summaries WHERE user_id = ?",
+                Long.class, userId);
+        return total == null ? 0 : total;
+    }
+}
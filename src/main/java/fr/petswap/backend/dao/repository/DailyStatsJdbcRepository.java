@@ -0,0 +1,60 @@
+package fr.petswap.backend.dao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrégats journaliers des statistiques (une ligne par indicateur et par jour).
+ * Les incréments sont cumulés par ON CONFLICT ... DO UPDATE, sans lecture préalable.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyStatsJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Increment(LocalDate day, String metric, double amount) {
+    }
+
+    /**
+     * Applique tout le lot ou rien, pour qu'un nouvel essai ne compte pas deux fois les mêmes événements
+     */
+    @Transactional
+    public void increment(List<Increment> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO daily_stats (metric, day, value) VALUES (?, ?, ?) " +
+                "ON CONFLICT (metric, day) DO UPDATE SET value = daily_stats.value + EXCLUDED.value",
+                increments,
+                increments.size(),
+                (ps, increment) -> {
+                    ps.setString(1, increment.metric());
+                    ps.setDate(2, Date.valueOf(increment.day()));
+                    ps.setDouble(3, increment.amount());
+                });
+    }
+
+    /**
+     * Valeurs d'un indicateur entre deux jours inclus ; les jours sans activité n'ont pas de ligne
+     */
+    public Map<LocalDate, Double> findSeries(String metric, LocalDate from, LocalDate to) {
+        Map<LocalDate, Double> values = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT day, value FROM daily_stats WHERE metric = ? AND day BETWEEN ? AND ?",
+                rs -> {
+                    values.put(rs.getDate("day").toLocalDate(), rs.getDouble("value"));
+                },
+                metric, Date.valueOf(from), Date.valueOf(to));
+        return values;
+    }
+}
@@ -2,18 +2,112 @@ package fr.petswap.backend.dao.repository;
 
 import fr.petswap.backend.dao.jpa.Listing;
 import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.service.ranking.RankingCandidate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ListingRepository extends JpaRepository<Listing, Integer> {
+
+    interface ListingOwner {
+        Integer getId();
+        UUID getOwnerId();
+    }
+
+    interface NearbyListingRow {
+        Integer getId();
+        Double getDistanceKm();
+    }
+
+    // Distance orthodromique (haversine, en km) entre l'annonce et le point (:latitude, :longitude), comme GeoGrid.distanceKm
+    String DISTANCE_KM = "2 * 6371.0 * ASIN(LEAST(1, SQRT(" +
+            "POWER(SIN(RADIANS(l.latitude - :latitude) / 2), 2) + " +
+            "COS(RADIANS(:latitude)) * COS(RADIANS(l.latitude)) * POWER(SIN(RADIANS(l.longitude - :longitude) / 2), 2))))";
+
+    // Page d'annonces dans le rayon, après le curseur (distance, identifiant), de la plus proche à la plus lointaine
+    String NEARBY_PAGE = "WHERE nearby.distance_km <= :radiusKm " +
+            "AND (nearby.distance_km > :afterDistanceKm OR (nearby.distance_km = :afterDistanceKm AND nearby.id > :afterId)) " +
+            "ORDER BY nearby.distance_km, nearby.id LIMIT :limit";
+
+    String RANKING_COLUMNS = "l.id AS id, l.startDate AS startDate, l.endDate AS endDate, l.pricePerDay AS pricePerDay, " +
+            "l.latitude AS latitude, l.longitude AS longitude, l.createdAt AS createdAt, o.rating AS ownerRating";
+
     List<Listing> findByOwner(Profile owner);
     List<Listing> findByOwnerId(UUID ownerId);
     List<Listing> findByStatus(Listing.ListingStatus status);
 
     @Query("SELECT l FROM Listing l WHERE l.status = 'ACTIVE' AND l.owner.id != :userId")
     List<Listing> findActiveListingsExcludingUser(@Param("userId") UUID userId);
+
+    @Query("SELECT l.id FROM Listing l WHERE l.status = 'ACTIVE' AND l.owner.id != :userId AND l.id > :afterId ORDER BY l.id")
+    List<Integer> findActiveListingIdsAfter(@Param("userId") UUID userId, @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Annonces actives des cellules de la grille, filtrées par rayon, triées et paginées par la base
+     */
+    @Query(value = "SELECT nearby.id AS id, nearby.distance_km AS distanceKm FROM (" +
+                   "  SELECT l.listing_id AS id, " + DISTANCE_KM + " AS distance_km FROM listings l " +
+                   "  WHERE l.status = 'ACTIVE' AND l.owner_id != :userId AND l.geo_cell IN (:cells)) nearby " +
+                   NEARBY_PAGE,
+           nativeQuery = true)
+    List<NearbyListingRow> findNearbyActiveListings(@Param("userId") UUID userId, @Param("cells") Collection<Integer> cells,
+                                                    @Param("latitude") double latitude, @Param("longitude") double longitude,
+                                                    @Param("radiusKm") double radiusKm,
+                                                    @Param("afterDistanceKm") double afterDistanceKm, @Param("afterId") int afterId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * Comme findNearbyActiveListings, en écartant les annonces déjà swipées par l'anti-jointure sur les swipes
+     */
+    @Query(value = "SELECT nearby.id AS id, nearby.distance_km AS distanceKm FROM (" +
+                   "  SELECT l.listing_id AS id, " + DISTANCE_KM + " AS distance_km FROM listings l " +
+                   "  WHERE l.status = 'ACTIVE' AND l.owner_id != :userId AND l.geo_cell IN (:cells) " +
+                   "  AND NOT EXISTS (SELECT 1 FROM swipes s WHERE s.swiper_id = :userId AND s.listing_id = l.listing_id)) nearby " +
+                   NEARBY_PAGE,
+           nativeQuery = true)
+    List<NearbyListingRow> findNearbyUnswipedListings(@Param("userId") UUID userId, @Param("cells") Collection<Integer> cells,
+                                                      @Param("latitude") double latitude, @Param("longitude") double longitude,
+                                                      @Param("radiusKm") double radiusKm,
+                                                      @Param("afterDistanceKm") double afterDistanceKm, @Param("afterId") int afterId,
+                                                      @Param("limit") int limit);
+
+    /**
+     * Annonces actives non swipées à classer, des plus récentes aux plus anciennes
+     */
+    @Query("SELECT " + RANKING_COLUMNS + " FROM Listing l JOIN l.owner o " +
+           "WHERE l.status = 'ACTIVE' AND o.id != :userId " +
+           "AND NOT EXISTS (SELECT 1 FROM Swipe s WHERE s.swiper.id = :userId AND s.listing = l) " +
+           "ORDER BY l.id DESC")
+    List<RankingCandidate> findNewestRankingCandidates(@Param("userId") UUID userId, Limit limit);
+
+    @Query("SELECT " + RANKING_COLUMNS + " FROM Listing l JOIN l.owner o " +
+           "WHERE l.status = 'ACTIVE' AND l.id IN :listingIds")
+    List<RankingCandidate> findActiveRankingCandidatesByIdIn(@Param("listingIds") Collection<Integer> listingIds);
+
+    @Query("SELECT l.id AS id, l.owner.id AS ownerId FROM Listing l WHERE l.id IN :listingIds")
+    List<ListingOwner> findOwnersByIdIn(@Param("listingIds") Collection<Integer> listingIds);
+
+    /**
+     * Ajuste les compteurs de réservations d'une annonce et en déduit son statut (hors annonce désactivée) :
+     * RESERVED s'il reste une garde confirmée ou en cours, COMPLETED si la période de l'annonce est passée
+     * et qu'au moins une garde est terminée, ACTIVE sinon.
+     */
+    @Modifying
+    @Query(value = "UPDATE listings SET active_booking_count = active_booking_count + :activeDelta, " +
+                   "completed_booking_count = completed_booking_count + :completedDelta, status = CASE " +
+                   "  WHEN status = 'INACTIVE' THEN status " +
+                   "  WHEN active_booking_count + :activeDelta > 0 THEN 'RESERVED' " +
+                   "  WHEN end_date < :today AND completed_booking_count + :completedDelta > 0 THEN 'COMPLETED' " +
+                   "  ELSE 'ACTIVE' END " +
+                   "WHERE listing_id = :listingId",
+           nativeQuery = true)
+    int adjustBookingCounters(@Param("listingId") Integer listingId, @Param("activeDelta") int activeDelta,
+                              @Param("completedDelta") int completedDelta, @Param("today") LocalDate today);
 }
@@ -4,14 +4,37 @@ import fr.petswap.backend.dao.jpa.Match;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.jpa.Listing;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface MatchRepository extends JpaRepository<Match, Integer> {
+
+    interface MatchParticipants {
+        Integer getId();
+        UUID getOwnerId();
+        UUID getPetSitterId();
+        boolean isOwnerLikedBack();
+        String getOwnerUsername();
+        String getPetSitterUsername();
+
+        default boolean isParticipant(UUID userId) {
+            return getOwnerId().equals(userId) || getPetSitterId().equals(userId);
+        }
+
+        /**
+         * Nom actuel d'un participant, lu en base avec le match
+         */
+        default String usernameOf(UUID userId) {
+            return getPetSitterId().equals(userId) ? getPetSitterUsername() : getOwnerUsername();
+        }
+    }
+
     List<Match> findByPetSitter(Profile petSitter);
     List<Match> findByListing_Owner(Profile owner);
     Optional<Match> findByListingAndPetSitter(Listing listing, Profile petSitter);
@@ -21,4 +44,19 @@ public interface MatchRepository extends JpaRepository<Match, Integer> {
 
     @Query("SELECT m FROM Match m WHERE (m.listing.owner.id = :userId OR m.petSitter.id = :userId) AND m.ownerLikedBack = true")
     List<Match> findConfirmedMatchesForUser(@Param("userId") UUID userId);
+
+    @Query("SELECT m.listing.id FROM Match m WHERE m.petSitter.id = :petSitterId AND m.listing.id IN :listingIds")
+    List<Integer> findMatchedListingIdsIn(@Param("petSitterId") UUID petSitterId, @Param("listingIds") Collection<Integer> listingIds);
+
+    @Query("SELECT m.id AS id, o.id AS ownerId, s.id AS petSitterId, m.ownerLikedBack AS ownerLikedBack, " +
+           "o.username AS ownerUsername, s.username AS petSitterUsername " +
+           "FROM Match m JOIN m.listing l JOIN l.owner o JOIN m.petSitter s WHERE m.id = :matchId")
+    Optional<MatchParticipants> findParticipantsById(@Param("matchId") Integer matchId);
+
+    /**
+     * Confirme le match côté propriétaire ; renvoie 0 s'il l'était déjà (appel répété ou concurrent)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Match m SET m.ownerLikedBack = true WHERE m.id = :matchId AND m.ownerLikedBack = false")
+    int confirmByOwner(@Param("matchId") Integer matchId);
 }
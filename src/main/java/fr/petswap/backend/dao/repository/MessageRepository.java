@@ -2,20 +2,34 @@ package fr.petswap.backend.dao.repository;
 
 import fr.petswap.backend.dao.jpa.Message;
 import fr.petswap.backend.dao.jpa.Match;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 
 public interface MessageRepository extends JpaRepository<Message, Integer> {
 
     List<Message> findByMatchOrderBySentAtAsc(Match match);
 
-    @Query("SELECT m FROM Message m WHERE m.match.id = :matchId ORDER BY m.sentAt ASC")
-    List<Message> findByMatchIdOrderBySentAtAsc(@Param("matchId") Integer matchId);
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.match.id = :matchId ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findLatestForMatch(@Param("matchId") Integer matchId, Limit limit);
 
-    @Query("SELECT DISTINCT m FROM Message m WHERE m.match.listing.owner.id = :userId OR m.match.petSitter.id = :userId ORDER BY m.sentAt DESC")
-    List<Message> findConversationsForUser(@Param("userId") UUID userId);
+    /**
+     * Messages antérieurs à (sentAt, id), du plus récent au plus ancien
+     */
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.match.id = :matchId " +
+           "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findBeforeForMatch(@Param("matchId") Integer matchId, @Param("sentAt") Instant sentAt,
+                                     @Param("id") Integer id, Limit limit);
+
+    /**
+     * Messages postérieurs à (sentAt, id), du plus ancien au plus récent
+     */
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.match.id = :matchId " +
+           "AND (m.sentAt > :sentAt OR (m.sentAt = :sentAt AND m.id > :id)) ORDER BY m.sentAt ASC, m.id ASC")
+    List<Message> findAfterForMatch(@Param("matchId") Integer matchId, @Param("sentAt") Instant sentAt,
+                                    @Param("id") Integer id, Limit limit);
 }
@@ -3,6 +3,9 @@ package fr.petswap.backend.dao.repository;
 
 import fr.petswap.backend.dao.jpa.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -11,4 +14,27 @@ public interface ProfileRepository extends JpaRepository<Profile, UUID> {
     Optional<Profile> findByUsername(String username);
     Boolean existsByUsername(String username);
 
+    /**
+     * Projection minimale pour l'authentification (aucune collection chargée)
+     */
+    interface ProfilePrincipal {
+        UUID getId();
+        String getUsername();
+        Profile.Role getRole();
+    }
+
+    Optional<ProfilePrincipal> findPrincipalById(UUID id);
+
+    Optional<ProfilePrincipal> findPrincipalByUsername(String username);
+
+    /**
+     * Ajoute une note à l'utilisateur en une seule instruction : pas de lecture préalable ni de mise à jour perdue.
+     * Dans le SET, rating_sum et rating_count désignent les valeurs avant mise à jour.
+     */
+    @Modifying
+    @Query(value = "UPDATE profiles SET rating_sum = rating_sum + :rating, rating_count = rating_count + 1, " +
+                   "rating = CAST(rating_sum + :rating AS FLOAT) / (rating_count + 1) WHERE user_id = :userId",
+           nativeQuery = true)
+    int addRating(@Param("userId") UUID userId, @Param("rating") int rating);
+
 }
@@ -0,0 +1,43 @@
+package fr.petswap.backend.dao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Histogramme des notes reçues par utilisateur : au plus cinq lignes (une par nombre d'étoiles)
+ */
+@Repository
+@RequiredArgsConstructor
+public class RatingHistogramJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void increment(UUID userId, int stars) {
+        jdbcTemplate.update(
+                "INSERT INTO rating_histograms (user_id, stars, review_count) VALUES (?, ?, 1) " +
+                "ON CONFLICT (user_id, stars) DO UPDATE SET review_count = rating_histograms.review_count + 1",
+                userId, stars);
+    }
+
+    /**
+     * Nombre d'avis par nombre d'étoiles (1 à 5), zéro compris
+     */
+    public Map<Integer, Long> findByUserId(UUID userId) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            histogram.put(stars, 0L);
+        }
+        jdbcTemplate.query(
+                "SELECT stars, review_count FROM rating_histograms WHERE user_id = ?",
+                rs -> {
+                    histogram.put(rs.getInt("stars"), rs.getLong("review_count"));
+                },
+                userId);
+        return histogram;
+    }
+}
@@ -2,10 +2,13 @@ package fr.petswap.backend.dao.repository;
 
 import fr.petswap.backend.dao.jpa.Review;
 import fr.petswap.backend.dao.jpa.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,16 +20,58 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     @Query("SELECT r FROM Review r WHERE r.booking.id = :bookingId")
     List<Review> findByBookingId(@Param("bookingId") Integer bookingId);
 
-    @Query("SELECT r FROM Review r WHERE r.reviewedUser.id = :userId")
-    List<Review> findReviewsForUser(@Param("userId") UUID userId);
-
     List<Review> findByReviewerId(UUID reviewerId);
 
     @Query("SELECT r FROM Review r WHERE r.booking.id = :bookingId AND r.reviewer.id = :reviewerId")
     Optional<Review> findByBookingIdAndReviewerId(@Param("bookingId") Integer bookingId, @Param("reviewerId") UUID reviewerId);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.reviewedUser.id = :userId")
-    Double getAverageRatingForUser(@Param("userId") UUID userId);
+    /**
+     * Projection d'un avis sans charger la réservation ni les profils complets
+     */
+    interface ReviewListItem {
+        Integer getId();
+        Integer getBookingId();
+        UUID getReviewerId();
+        String getReviewerUsername();
+        UUID getReviewedUserId();
+        String getReviewedUserUsername();
+        Integer getRating();
+        String getComment();
+        Instant getCreatedAt();
+    }
+
+    /**
+     * Avis reçus par un utilisateur, du plus récent au plus ancien, d'identifiant inférieur à beforeId
+     */
+    @Query("SELECT r.id AS id, r.booking.id AS bookingId, " +
+           "r.reviewer.id AS reviewerId, r.reviewer.username AS reviewerUsername, " +
+           "r.reviewedUser.id AS reviewedUserId, r.reviewedUser.username AS reviewedUserUsername, " +
+           "r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt " +
+           "FROM Review r WHERE r.reviewedUser.id = :userId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<ReviewListItem> findPageForUser(@Param("userId") UUID userId, @Param("beforeId") int beforeId, Limit limit);
+
+    /**
+     * Participants, statut et nombre d'avis laissés par chacun, pour une réservation
+     */
+    interface ReviewStatusRow {
+        Integer getBookingId();
+        UUID getOwnerId();
+        UUID getPetSitterId();
+        Booking.BookingStatus getStatus();
+        Long getOwnerReviews();
+        Long getSitterReviews();
+    }
+
+    /**
+     * Statuts des avis de plusieurs réservations en une requête groupée ; les réservations inconnues sont absentes
+     */
+    @Query("SELECT b.id AS bookingId, l.owner.id AS ownerId, m.petSitter.id AS petSitterId, b.status AS status, " +
+           "SUM(CASE WHEN r.reviewer.id = l.owner.id THEN 1 ELSE 0 END) AS ownerReviews, " +
+           "SUM(CASE WHEN r.reviewer.id = m.petSitter.id THEN 1 ELSE 0 END) AS sitterReviews " +
+           "FROM Booking b JOIN b.match m JOIN m.listing l LEFT JOIN Review r ON r.booking.id = b.id " +
+           "WHERE b.id IN :bookingIds " +
+           "GROUP BY b.id, l.owner.id, m.petSitter.id, b.status")
+    List<ReviewStatusRow> findReviewStatuses(@Param("bookingIds") Collection<Integer> bookingIds);
 
     @Query("SELECT AVG(r.rating) FROM Review r")
     Double getAverageRating();
@@ -0,0 +1,23 @@
+package fr.petswap.backend.dao.repository;
+
+import fr.petswap.backend.dao.jpa.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt >= :now")
+    List<UUID> findActiveTokenIds(@Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,100 @@
+package fr.petswap.backend.dao.repository;
+
+import fr.petswap.backend.dao.jpa.Swipe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Écritures JDBC sur les swipes et matches.
+ * Les doublons sont résolus par les contraintes uniques (ON CONFLICT DO NOTHING) plutôt que par une lecture préalable,
+ * et les clés IDENTITY empêchant Hibernate de regrouper les INSERT, les lots passent par JdbcTemplate (un INSERT ... unnest).
+ */
+@Repository
+@RequiredArgsConstructor
+public class SwipeJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record SwipeRow(Integer listingId, Swipe.SwipeDirection direction) {
+    }
+
+    public record InsertedSwipe(Integer id, Instant swipedAt) {
+    }
+
+    /**
+     * Insère un swipe en un seul aller-retour ; vide si l'utilisateur a déjà swipé cette annonce
+     */
+    public Optional<InsertedSwipe> insertSwipeIfAbsent(UUID swiperId, Integer listingId, Swipe.SwipeDirection direction) {
+        return jdbcTemplate.query(
+                        "INSERT INTO swipes (swiper_id, listing_id, direction) VALUES (?, ?, ?) " +
+                        "ON CONFLICT (swiper_id, listing_id) DO NOTHING RETURNING swipe_id, swiped_at",
+                        (rs, rowNum) -> new InsertedSwipe(rs.getInt("swipe_id"),
+                                rs.getObject("swiped_at", OffsetDateTime.class).toInstant()),
+                        swiperId, listingId, direction.name())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Crée un match en attente s'il n'existe pas déjà ; retourne true si une ligne a été insérée
+     */
+    public boolean insertPendingMatchIfAbsent(UUID petSitterId, Integer listingId) {
+        return jdbcTemplate.update(
+                "INSERT INTO matches (listing_id, pet_sitter_id, owner_liked_back) VALUES (?, ?, false) " +
+                "ON CONFLICT (listing_id, pet_sitter_id) DO NOTHING",
+                listingId, petSitterId) > 0;
+    }
+
+    /**
+     * Insère les swipes en une seule requête et retourne les annonces réellement insérées,
+     * les autres ayant été ignorées par ON CONFLICT (déjà swipées, y compris par un rejeu concurrent).
+     * Les compteurs par ligne d'un batchUpdate ne conviennent pas : avec reWriteBatchedInserts,
+     * le pilote PostgreSQL ne renvoie que SUCCESS_NO_INFO.
+     */
+    public Set<Integer> insertSwipes(UUID swiperId, List<SwipeRow> swipes) {
+        if (swipes.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "INSERT INTO swipes (swiper_id, listing_id, direction) " +
+                            "SELECT ?, r.listing_id, r.direction FROM unnest(?::integer[], ?::varchar[]) AS r(listing_id, direction) " +
+                            "ON CONFLICT (swiper_id, listing_id) DO NOTHING RETURNING listing_id");
+                    ps.setObject(1, swiperId);
+                    ps.setArray(2, connection.createArrayOf("integer", swipes.stream().map(SwipeRow::listingId).toArray()));
+                    ps.setArray(3, connection.createArrayOf("varchar", swipes.stream().map(swipe -> swipe.direction().name()).toArray()));
+                    return ps;
+                },
+                (rs, rowNum) -> rs.getInt("listing_id")));
+    }
+
+    /**
+     * Crée les matches en attente manquants en une seule requête et retourne le nombre de lignes insérées
+     */
+    public int insertPendingMatches(UUID petSitterId, List<Integer> listingIds) {
+        if (listingIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "INSERT INTO matches (listing_id, pet_sitter_id, owner_liked_back) " +
+                            "SELECT listing_id, ?, false FROM unnest(?::integer[]) AS listing_id " +
+                            "ON CONFLICT (listing_id, pet_sitter_id) DO NOTHING");
+                    ps.setObject(1, petSitterId);
+                    ps.setArray(2, connection.createArrayOf("integer", listingIds.toArray()));
+                    return ps;
+                });
+    }
+}
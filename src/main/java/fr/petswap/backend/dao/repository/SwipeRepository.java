@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,8 +20,26 @@ public interface SwipeRepository extends JpaRepository<Swipe, Integer> {
     @Query("SELECT s FROM Swipe s WHERE s.listing.id = :listingId AND s.direction = 'LIKE'")
     List<Swipe> findLikesForListing(@Param("listingId") Integer listingId);
 
-    @Query(value = "SELECT * FROM listings l WHERE l.status = 'ACTIVE' AND l.owner_id != :userId " +
-           "AND l.listing_id NOT IN (SELECT s.listing_id FROM swipes s WHERE s.swiper_id = :userId)",
+    @Query(value = "SELECT l.* FROM listings l WHERE l.status = 'ACTIVE' AND l.owner_id != :userId " +
+           "AND NOT EXISTS (SELECT 1 FROM swipes s WHERE s.swiper_id = :userId AND s.listing_id = l.listing_id)",
            nativeQuery = true)
     List<Listing> findUnswipedListingsForUser(@Param("userId") UUID userId);
+
+    /**
+     * Identifiants d'annonces actives non swipées après afterId, par la même anti-jointure
+     */
+    @Query(value = "SELECT l.listing_id FROM listings l WHERE l.status = 'ACTIVE' AND l.owner_id != :userId " +
+           "AND l.listing_id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM swipes s WHERE s.swiper_id = :userId AND s.listing_id = l.listing_id) " +
+           "ORDER BY l.listing_id LIMIT :limit",
+           nativeQuery = true)
+    List<Integer> findUnswipedListingIdsAfter(@Param("userId") UUID userId,
+                                              @Param("afterId") int afterId,
+                                              @Param("limit") int limit);
+
+    @Query("SELECT s.listing.id FROM Swipe s WHERE s.swiper.id = :userId")
+    List<Integer> findSwipedListingIds(@Param("userId") UUID userId);
+
+    @Query("SELECT s.listing.id FROM Swipe s WHERE s.swiper.id = :userId AND s.listing.id IN :listingIds")
+    List<Integer> findSwipedListingIdsIn(@Param("userId") UUID userId, @Param("listingIds") Collection<Integer> listingIds);
 }
@@ -0,0 +1,23 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummaryDto {
+    private Integer matchId;
+    private UUID otherUserId;
+    private Integer lastMessageId;
+    private String lastMessagePreview;
+    private UUID lastSenderId;
+    private Instant lastSentAt;
+    private int unreadCount;
+    private Integer lastReadMessageId; // null tant que la conversation n'a jamais été lue
+    private Integer otherLastReadMessageId; // accusé de lecture de l'autre participant
+}
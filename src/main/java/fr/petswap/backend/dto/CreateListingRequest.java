@@ -12,4 +12,6 @@ public class CreateListingRequest {
     private LocalDate endDate;
     private Double pricePerDay;
     private String location;
+    private Double latitude;
+    private Double longitude;
 }
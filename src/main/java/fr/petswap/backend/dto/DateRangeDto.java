@@ -0,0 +1,13 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class DateRangeDto {
+    private LocalDate startDate;
+    private LocalDate endDate; // Inclus
+}
@@ -0,0 +1,13 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DiscoverPageDto {
+    private List<ListingDto> listings;
+    private String nextCursor; // null quand il n'y a plus d'annonces
+}
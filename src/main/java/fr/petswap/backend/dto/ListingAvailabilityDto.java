@@ -0,0 +1,17 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ListingAvailabilityDto {
+    private Integer listingId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<DateRangeDto> free;
+    private List<DateRangeDto> busy;
+}
@@ -17,5 +17,9 @@ public class ListingDto {
     private LocalDate endDate;
     private Double pricePerDay;
     private String location;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm; // Renseigné uniquement pour les recherches par rayon
+    private Double score; // Renseigné uniquement pour la découverte classée
     private String status;
 }
@@ -0,0 +1,14 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MessagePageDto {
+    private List<MessageDto> messages; // du plus ancien au plus récent
+    private String beforeCursor; // null quand il n'y a plus de message plus ancien
+    private String afterCursor; // dernier message de la page, à rejouer pour récupérer les nouveaux ; null si la page est vide
+}
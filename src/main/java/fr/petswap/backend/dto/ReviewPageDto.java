@@ -0,0 +1,13 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReviewPageDto {
+    private List<ReviewDto> reviews;
+    private String nextCursor; // null quand il n'y a plus d'avis
+}
@@ -13,4 +13,5 @@ public class ReviewStatusDto {
     private UUID petSitterId;
     private boolean ownerReviewedSitter;
     private boolean sitterReviewedOwner;
+    private Boolean canReview; // Pour l'utilisateur connecté, renseigné par POST /api/reviews/status uniquement
 }
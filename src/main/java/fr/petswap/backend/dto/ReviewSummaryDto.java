@@ -0,0 +1,18 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class ReviewSummaryDto {
+    private UUID userId;
+    private long count;
+    private double average; // 0 sans avis
+    private Map<Integer, Long> histogram; // Étoiles (1 à 5) → nombre d'avis
+    private List<ReviewDto> latestReviews;
+}
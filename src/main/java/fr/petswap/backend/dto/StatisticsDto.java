@@ -0,0 +1,16 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Statistiques publiques de la plateforme (immuable : partagé entre toutes les requêtes)
+ */
+@Getter
+@AllArgsConstructor
+public class StatisticsDto {
+    private final long totalUsers;
+    private final long totalMatches;
+    private final long totalBookings;
+    private final double averageRating;
+}
@@ -0,0 +1,20 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SwipeBatchResultDto {
+    private Integer listingId;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED,      // Swipe enregistré
+        DUPLICATE,    // Déjà swipé (avant ou dans le même lot)
+        NOT_FOUND,    // Annonce inexistante
+        OWN_LISTING,  // Swipe sur sa propre annonce
+        INVALID       // Requête incomplète ou direction inconnue
+    }
+}
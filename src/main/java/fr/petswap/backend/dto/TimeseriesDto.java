@@ -0,0 +1,23 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TimeseriesDto {
+    private String metric;
+    private LocalDate from;
+    private LocalDate to;
+    private List<Point> points; // Un point par jour, 0 pour les jours sans activité
+
+    @Data
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate date;
+        private double value;
+    }
+}
@@ -0,0 +1,10 @@
+package fr.petswap.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UnreadCountDto {
+    private long unreadCount; // total sur toutes les conversations
+}
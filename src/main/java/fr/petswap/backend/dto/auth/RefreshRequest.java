@@ -0,0 +1,8 @@
+package fr.petswap.backend.dto.auth;
+
+import lombok.Data;
+
+@Data
+public class RefreshRequest {
+    private String refreshToken;
+}
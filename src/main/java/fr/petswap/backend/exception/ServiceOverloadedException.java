@@ -0,0 +1,7 @@
+package fr.petswap.backend.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -13,6 +13,7 @@ public interface BookingMapper {
     BookingDto toDto(Booking booking);
 
     @Mapping(source = "originalBookingId", target = "originalBooking.id")
+    @Mapping(source = "match.listing.id", target = "listingId")
     @Mapping(expression = "java(bookingDto.getIsRebooking())", target = "isRebooking")
     Booking toEntity(BookingDto bookingDto);
 }
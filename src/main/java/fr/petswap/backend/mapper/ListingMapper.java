@@ -12,6 +12,8 @@ public interface ListingMapper {
     @Mapping(source = "owner.username", target = "ownerUsername")
     @Mapping(source = "owner.avatarUrl", target = "ownerAvatarUrl")
     @Mapping(source = "status", target = "status")
+    @Mapping(target = "distanceKm", ignore = true)
+    @Mapping(target = "score", ignore = true)
     ListingDto toDto(Listing listing);
 
     Listing toEntity(ListingDto listingDto);
@@ -13,6 +13,14 @@ public interface MessageMapper {
     @Mapping(source = "sender.username", target = "senderUsername")
     MessageDto toDto(Message message);
 
+    /**
+     * Variante pour un message dont l'expéditeur n'est qu'une référence : son nom est fourni à part
+     */
+    @Mapping(source = "message.match.id", target = "matchId")
+    @Mapping(source = "message.sender.id", target = "senderId")
+    @Mapping(source = "senderUsername", target = "senderUsername")
+    MessageDto toDto(Message message, String senderUsername);
+
     @Mapping(target = "match", ignore = true)
     @Mapping(target = "sender", ignore = true)
     @Mapping(target = "sentAt", ignore = true)
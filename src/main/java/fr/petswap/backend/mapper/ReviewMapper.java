@@ -1,6 +1,7 @@
 package fr.petswap.backend.mapper;
 
 import fr.petswap.backend.dao.jpa.Review;
+import fr.petswap.backend.dao.repository.ReviewRepository;
 import fr.petswap.backend.dto.ReviewDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -15,6 +16,8 @@ public interface ReviewMapper {
     @Mapping(source = "reviewedUser.username", target = "reviewedUserUsername")
     ReviewDto toDto(Review review);
 
+    ReviewDto toDto(ReviewRepository.ReviewListItem review);
+
     @Mapping(target = "booking", ignore = true)
     @Mapping(target = "reviewer", ignore = true)
     @Mapping(target = "reviewedUser", ignore = true)
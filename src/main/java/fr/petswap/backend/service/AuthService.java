@@ -1,5 +1,8 @@
 package fr.petswap.backend.service;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import fr.petswap.backend.config.Auth0JwtService;
+import fr.petswap.backend.config.TokenRevocationList;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.jpa.Profile.Role;
 import fr.petswap.backend.dao.repository.ProfileRepository;
@@ -23,6 +26,9 @@ public class AuthService {
     private final ProfileRepository profileRepository;
     private final Auth0JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final StatisticsRollupService statisticsRollupService;
 
     public AuthResponse login(AuthRequest request) {
         log.info("Tentative de connexion pour {}", request.getUsername());
@@ -35,8 +41,7 @@ public class AuthService {
             throw new InvalidCredentialsException("Identifiants invalides");
         }
 
-        var token = jwtService.generateToken(profile);
-        return new AuthResponse(token);
+        return issueTokens(profile);
     }
 
     public AuthResponse register(AuthRequest request) {
@@ -77,9 +82,48 @@ public class AuthService {
                 .build();
 
         profileRepository.save(profile);
-        var token = jwtService.generateToken(profile);
+        statisticsRollupService.record(StatisticsMetric.NEW_USERS);
         log.info("Inscription réussie pour {}", request.getUsername());
-        return new AuthResponse(token);
+        return issueTokens(profile);
+    }
+
+    /**
+     * Échange un refresh token contre un nouvel access token ; le refresh token est remplacé à chaque appel
+     */
+    public AuthResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new InvalidCredentialsException("Refresh token manquant");
+        }
+        UUID userId = refreshTokenService.consume(refreshToken)
+                .orElseThrow(() -> new InvalidCredentialsException("Refresh token invalide ou expiré"));
+        var profile = profileRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
+        return issueTokens(profile);
+    }
+
+    /**
+     * Révoque l'access token présenté (jusqu'à son expiration) et le refresh token éventuel
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                DecodedJWT decodedJWT = jwtService.verifyToken(accessToken);
+                if (decodedJWT.getId() != null) {
+                    tokenRevocationList.revoke(UUID.fromString(decodedJWT.getId()), decodedJWT.getExpiresAtAsInstant());
+                }
+            } catch (JWTVerificationException e) {
+                // Token déjà expiré ou invalide : rien à révoquer
+                log.debug("Déconnexion avec un token invalide : {}", e.getMessage());
+            }
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    private AuthResponse issueTokens(Profile profile) {
+        var token = jwtService.generateToken(profile);
+        return new AuthResponse(token, refreshTokenService.create(profile.getId()));
     }
 
     public boolean usernameExists(String username) {
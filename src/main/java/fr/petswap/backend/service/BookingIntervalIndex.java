@@ -0,0 +1,200 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.BookingProperties;
+import fr.petswap.backend.dao.jpa.Booking;
+import fr.petswap.backend.dao.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Index en mémoire des périodes réservées (réservations CONFIRMED et IN_PROGRESS) de chaque annonce.
+ * Les réservations actives d'une annonce ne se chevauchent jamais (contrainte d'exclusion en base),
+ * elles sont donc rangées par date de début et un test de conflit se fait en O(log n).
+ * L'index n'est qu'une indication : il ne voit que les modifications commitées par cette instance.
+ * Un conflit qu'il signale est confirmé en base, un conflit qu'il ignore est rejeté par la contrainte
+ * d'exclusion à la confirmation, et chaque annonce est relue en base au-delà de sa durée de vie.
+ */
+@Component
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    private final Map<Integer, ListingIntervals> intervalsByListing = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository, BookingProperties properties) {
+        this(bookingRepository, properties, System::nanoTime);
+    }
+
+    BookingIntervalIndex(BookingRepository bookingRepository, BookingProperties properties, LongSupplier nanoTime) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = properties.intervalIndex().ttl().toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Indique si une réservation active de l'annonce chevauche la période [startDate, endDate] (bornes incluses)
+     */
+    public boolean hasConflict(Integer listingId, LocalDate startDate, LocalDate endDate) {
+        if (!intervals(listingId).overlaps(startDate, endDate)) {
+            return false;
+        }
+        // La période a pu être libérée par une autre instance : la base tranche
+        if (!bookingRepository.findConflictingConfirmedBookings(listingId, startDate, endDate).isEmpty()) {
+            return true;
+        }
+        invalidate(listingId);
+        return false;
+    }
+
+    public record BookedPeriod(LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * Périodes réservées de l'annonce qui touchent [from, to], triées par date de début.
+     * Peut retarder d'au plus la durée de vie de l'index sur les autres instances.
+     */
+    public List<BookedPeriod> bookedPeriods(Integer listingId, LocalDate from, LocalDate to) {
+        return intervals(listingId).between(from, to);
+    }
+
+    /**
+     * Enregistre une réservation qui vient de passer en CONFIRMED
+     */
+    public void bookingConfirmed(Booking booking) {
+        Integer listingId = booking.getMatch().getListing().getId();
+        Integer bookingId = booking.getId();
+        LocalDate startDate = booking.getStartDate();
+        LocalDate endDate = booking.getEndDate();
+        afterCommit(() -> {
+            ListingIntervals intervals = intervalsByListing.get(listingId);
+            // Annonce pas encore chargée : elle le sera à la prochaine requête, depuis la base.
+            // Un chevauchement trahit une période libérée ailleurs et encore présente : l'annonce est relue.
+            if (intervals != null && !intervals.add(bookingId, startDate, endDate)) {
+                intervalsByListing.remove(listingId, intervals);
+            }
+        });
+    }
+
+    /**
+     * Retire une réservation qui n'occupe plus l'annonce (annulée ou terminée)
+     */
+    public void bookingReleased(Booking booking) {
+        bookingReleased(booking.getMatch().getListing().getId(), booking.getId());
+    }
+
+    public void bookingReleased(Integer listingId, Integer bookingId) {
+        afterCommit(() -> {
+            ListingIntervals intervals = intervalsByListing.get(listingId);
+            if (intervals != null) {
+                intervals.remove(bookingId);
+            }
+        });
+    }
+
+    /**
+     * Oublie l'index d'une annonce, qui sera rechargé depuis la base à la prochaine requête.
+     * Toujours sans risque, donc appliqué immédiatement (y compris quand la transaction échoue).
+     */
+    public void invalidate(Integer listingId) {
+        intervalsByListing.remove(listingId);
+    }
+
+    private ListingIntervals intervals(Integer listingId) {
+        long now = nanoTime.getAsLong();
+        ListingIntervals intervals = intervalsByListing.get(listingId);
+        if (intervals != null && now - intervals.loadedAt < ttlNanos) {
+            return intervals;
+        }
+        // Requête hors de la map : computeIfAbsent la ferait sous le verrou de la ConcurrentHashMap
+        ListingIntervals loaded = load(listingId, now);
+        return intervalsByListing.compute(listingId, (id, current) ->
+                current != null && now - current.loadedAt < ttlNanos ? current : loaded);
+    }
+
+    private ListingIntervals load(Integer listingId, long loadedAt) {
+        ListingIntervals intervals = new ListingIntervals(loadedAt);
+        bookingRepository.findActiveBookingsByListingId(listingId)
+                .forEach(booking -> intervals.add(booking.getId(), booking.getStartDate(), booking.getEndDate()));
+        return intervals;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Périodes disjointes d'une annonce, triées par date de début
+     */
+    static final class ListingIntervals {
+
+        private record Interval(Integer bookingId, LocalDate startDate, LocalDate endDate) {
+        }
+
+        private final long loadedAt;
+        private final TreeMap<LocalDate, Interval> byStartDate = new TreeMap<>();
+        private final Map<Integer, LocalDate> startDateByBooking = new HashMap<>();
+
+        ListingIntervals(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        synchronized boolean overlaps(LocalDate startDate, LocalDate endDate) {
+            // Les périodes étant disjointes, seule la dernière commençant avant la fin demandée peut chevaucher
+            Map.Entry<LocalDate, Interval> candidate = byStartDate.floorEntry(endDate);
+            return candidate != null && !candidate.getValue().endDate().isBefore(startDate);
+        }
+
+        synchronized List<BookedPeriod> between(LocalDate from, LocalDate to) {
+            // La période commençant juste avant "from" peut encore le couvrir
+            LocalDate first = byStartDate.floorKey(from);
+            return byStartDate.subMap(first == null ? from : first, true, to, true).values().stream()
+                    .filter(interval -> !interval.endDate().isBefore(from))
+                    .map(interval -> new BookedPeriod(interval.startDate(), interval.endDate()))
+                    .toList();
+        }
+
+        /**
+         * Ajoute une période ; retourne false si elle chevauche une période connue (index périmé)
+         */
+        synchronized boolean add(Integer bookingId, LocalDate startDate, LocalDate endDate) {
+            if (startDateByBooking.containsKey(bookingId)) {
+                return true;
+            }
+            if (overlaps(startDate, endDate)) {
+                return false;
+            }
+            byStartDate.put(startDate, new Interval(bookingId, startDate, endDate));
+            startDateByBooking.put(bookingId, startDate);
+            return true;
+        }
+
+        synchronized void remove(Integer bookingId) {
+            LocalDate startDate = startDateByBooking.remove(bookingId);
+            if (startDate != null) {
+                byStartDate.remove(startDate);
+            }
+        }
+    }
+}
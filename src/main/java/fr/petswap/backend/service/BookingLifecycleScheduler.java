@@ -0,0 +1,83 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.BookingProperties;
+import fr.petswap.backend.dao.jpa.Booking;
+import fr.petswap.backend.dao.repository.BookingJdbcRepository;
+import fr.petswap.backend.dao.repository.BookingJdbcRepository.TransitionedBooking;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Fait avancer les réservations selon leurs dates : CONFIRMED → IN_PROGRESS au début de la garde,
+ * IN_PROGRESS → COMPLETED une fois la garde terminée, puis met à jour les compteurs des annonces concernées.
+ * Chaque lot est traité dans sa propre transaction pour ne pas verrouiller toute la table.
+ */
+@Slf4j
+@Component
+public class BookingLifecycleScheduler {
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final StatisticsRollupService statisticsRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BookingLifecycleScheduler(BookingJdbcRepository bookingJdbcRepository,
+                                     BookingIntervalIndex bookingIntervalIndex,
+                                     StatisticsRollupService statisticsRollupService,
+                                     PlatformTransactionManager transactionManager,
+                                     BookingProperties properties) {
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.statisticsRollupService = statisticsRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.lifecycle().chunkSize();
+    }
+
+    @Scheduled(cron = "${petswap.bookings.lifecycle.cron:0 5 0 * * *}")
+    public void advanceBookings() {
+        LocalDate today = LocalDate.now();
+        long start = System.currentTimeMillis();
+
+        // Les gardes démarrées passent d'abord en cours, pour que celles déjà finies soient terminées dans la foulée
+        int started = runInChunks(bookingJdbcRepository::startDueBookings, today, false);
+        int completed = runInChunks(bookingJdbcRepository::completeEndedBookings, today, true);
+        // Chaque lot est déjà commité : les compteurs peuvent être alimentés directement
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.IN_PROGRESS, started);
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.COMPLETED, completed);
+
+        log.info("Cycle de vie des réservations : {} en cours, {} terminées en {} ms",
+                started, completed, System.currentTimeMillis() - start);
+    }
+
+    private int runInChunks(BiFunction<LocalDate, Integer, List<TransitionedBooking>> transition,
+                            LocalDate today, boolean completes) {
+        int total = 0;
+        while (true) {
+            List<TransitionedBooking> chunk = transactionTemplate.execute(status -> {
+                List<TransitionedBooking> transitioned = transition.apply(today, chunkSize);
+                // Une garde qui démarre reste active : seules les gardes terminées changent les compteurs de l'annonce
+                if (completes) {
+                    Map<Integer, Integer> completedByListing = transitioned.stream()
+                            .collect(Collectors.groupingBy(TransitionedBooking::listingId, Collectors.summingInt(booking -> 1)));
+                    bookingJdbcRepository.completeListingBookings(completedByListing, today);
+                    transitioned.forEach(booking -> bookingIntervalIndex.bookingReleased(booking.listingId(), booking.bookingId()));
+                }
+                return transitioned;
+            });
+            total += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -10,12 +10,14 @@ import fr.petswap.backend.dto.CreateBookingRequest;
 import fr.petswap.backend.mapper.BookingMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -28,6 +30,12 @@ public class BookingService {
     private final MatchRepository matchRepository;
     private final BookingMapper bookingMapper;
     private final ListingStatusService listingStatusService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final StatisticsRollupService statisticsRollupService;
+
+    private static final Set<Booking.BookingStatus> PENDING = Set.of(Booking.BookingStatus.PENDING);
+    private static final Set<Booking.BookingStatus> ACTIVE =
+            Set.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.IN_PROGRESS);
 
     /**
      * Créer une demande de garde à partir d'un match confirmé (par le propriétaire)
@@ -77,9 +85,7 @@ public class BookingService {
         }
 
         // Vérifier les conflits avec d'autres réservations confirmées
-        List<Booking> conflictingBookings = bookingRepository.findConflictingConfirmedBookings(
-            match.getListing().getId(), request.getStartDate(), request.getEndDate());
-        if (!conflictingBookings.isEmpty()) {
+        if (bookingIntervalIndex.hasConflict(match.getListing().getId(), request.getStartDate(), request.getEndDate())) {
             throw new RuntimeException("Ces dates sont déjà réservées");
         }
 
@@ -89,6 +95,7 @@ public class BookingService {
 
         Booking booking = Booking.builder()
                 .match(match)
+                .listingId(match.getListing().getId())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
                 .totalPrice(totalPrice)
@@ -97,6 +104,7 @@ public class BookingService {
                 .build();
 
         Booking savedBooking = bookingRepository.save(booking);
+        statisticsRollupService.record(StatisticsMetric.BOOKINGS_CREATED);
         log.info("Demande de garde {} créée avec succès pour {} jours au prix de {}€ - En attente de confirmation du pet-sitter",
                 savedBooking.getId(), numberOfDays, totalPrice);
 
@@ -121,15 +129,26 @@ public class BookingService {
             throw new RuntimeException("Seule une demande en attente peut être confirmée");
         }
 
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
-        Booking savedBooking = bookingRepository.save(booking);
+        // Une autre demande a pu être confirmée sur ces dates depuis la création de celle-ci
+        if (bookingIntervalIndex.hasConflict(booking.getMatch().getListing().getId(), booking.getStartDate(), booking.getEndDate())) {
+            throw new RuntimeException("Ces dates sont déjà réservées");
+        }
+
+        try {
+            transition(booking, Booking.BookingStatus.CONFIRMED, PENDING);
+        } catch (DataIntegrityViolationException e) {
+            throw datesAlreadyBooked(booking, e);
+        }
+        bookingIntervalIndex.bookingConfirmed(booking);
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.CONFIRMED, 1);
+        statisticsRollupService.record(StatisticsMetric.BOOKED_REVENUE, booking.getTotalPrice());
 
         // Mettre à jour le statut de l'annonce (ACTIVE → RESERVED)
-        listingStatusService.updateListingStatus(booking.getMatch().getListing().getId());
+        listingStatusService.bookingConfirmed(booking.getMatch().getListing().getId());
 
         log.info("Demande de garde {} acceptée par le pet-sitter", bookingId);
 
-        return bookingMapper.toDto(savedBooking);
+        return bookingMapper.toDto(booking);
     }
 
     /**
@@ -153,15 +172,16 @@ public class BookingService {
             throw new RuntimeException("Seule une réservation confirmée ou en cours peut être terminée");
         }
 
-        booking.setStatus(Booking.BookingStatus.COMPLETED);
-        Booking savedBooking = bookingRepository.save(booking);
+        transition(booking, Booking.BookingStatus.COMPLETED, ACTIVE);
+        bookingIntervalIndex.bookingReleased(booking);
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.COMPLETED, 1);
 
         // Mettre à jour le statut de l'annonce (potentiellement RESERVED → COMPLETED)
-        listingStatusService.updateListingStatus(booking.getMatch().getListing().getId());
+        listingStatusService.bookingCompleted(booking.getMatch().getListing().getId());
 
         log.info("Réservation {} terminée", bookingId);
 
-        return bookingMapper.toDto(savedBooking);
+        return bookingMapper.toDto(booking);
     }
 
     /**
@@ -182,11 +202,11 @@ public class BookingService {
             throw new RuntimeException("Seule une demande en attente peut être refusée");
         }
 
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        Booking savedBooking = bookingRepository.save(booking);
+        transition(booking, Booking.BookingStatus.CANCELLED, PENDING);
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.CANCELLED, 1);
         log.info("Demande de garde {} refusée par le pet-sitter", bookingId);
 
-        return bookingMapper.toDto(savedBooking);
+        return bookingMapper.toDto(booking);
     }
 
     /**
@@ -218,18 +238,20 @@ public class BookingService {
         }
         // Pour les réservations confirmées, les deux peuvent annuler
 
-        Booking.BookingStatus previousStatus = booking.getStatus();
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        Booking savedBooking = bookingRepository.save(booking);
+        boolean wasActive = ACTIVE.contains(booking.getStatus());
+        transition(booking, Booking.BookingStatus.CANCELLED, wasActive ? ACTIVE : PENDING);
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.CANCELLED, 1);
 
-        // Si on annule une réservation confirmée, recalculer le statut de l'annonce
-        if (previousStatus == Booking.BookingStatus.CONFIRMED) {
-            listingStatusService.updateListingStatus(booking.getMatch().getListing().getId());
+        // Si on annule une réservation confirmée ou en cours, libérer ses dates et recalculer le statut de l'annonce
+        if (wasActive) {
+            bookingIntervalIndex.bookingReleased(booking);
+            listingStatusService.bookingCancelled(booking.getMatch().getListing().getId());
+            statisticsRollupService.record(StatisticsMetric.BOOKED_REVENUE, -booking.getTotalPrice());
         }
 
         log.info("Réservation {} annulée", bookingId);
 
-        return bookingMapper.toDto(savedBooking);
+        return bookingMapper.toDto(booking);
     }
 
     /**
@@ -310,7 +332,8 @@ public class BookingService {
         }
         // Vérifier les conflits de dates
         var conflicts = bookingRepository.findConflictingBookings(request.getMatchId(), request.getStartDate(), request.getEndDate());
-        if (!conflicts.isEmpty()) {
+        if (!conflicts.isEmpty() ||
+            bookingIntervalIndex.hasConflict(match.getListing().getId(), request.getStartDate(), request.getEndDate())) {
             throw new RuntimeException("Conflit de dates avec une réservation existante");
         }
         // Calculer le prix total
@@ -318,6 +341,7 @@ public class BookingService {
         double totalPrice = numberOfDays * match.getListing().getPricePerDay();
         Booking booking = Booking.builder()
                 .match(match)
+                .listingId(match.getListing().getId())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
                 .totalPrice(totalPrice)
@@ -326,8 +350,43 @@ public class BookingService {
                 .originalBooking(completedBookings.get(0))
                 .specialRequests(request.getSpecialRequests())
                 .build();
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = saveActiveBooking(booking);
+        bookingIntervalIndex.bookingConfirmed(savedBooking);
+        // Un rebooking est créé directement confirmé : il compte comme garde active de l'annonce
+        listingStatusService.bookingConfirmed(match.getListing().getId());
+        statisticsRollupService.record(StatisticsMetric.BOOKINGS_CREATED);
+        statisticsRollupService.recordBookingStatus(Booking.BookingStatus.CONFIRMED, 1);
+        statisticsRollupService.record(StatisticsMetric.BOOKED_REVENUE, savedBooking.getTotalPrice());
         log.info("Rebooking {} créé et confirmé automatiquement", savedBooking.getId());
         return bookingMapper.toDto(savedBooking);
     }
+
+    /**
+     * Enregistre immédiatement une réservation active pour que la contrainte d'exclusion
+     * (chevauchement de dates sur la même annonce) soit vérifiée ici plutôt qu'au commit
+     */
+    private Booking saveActiveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw datesAlreadyBooked(booking, e);
+        }
+    }
+
+    private RuntimeException datesAlreadyBooked(Booking booking, DataIntegrityViolationException e) {
+        bookingIntervalIndex.invalidate(booking.getMatch().getListing().getId());
+        return new RuntimeException("Ces dates sont déjà réservées", e);
+    }
+
+    /**
+     * Change le statut en base seulement si la réservation est toujours dans l'un des statuts attendus :
+     * si une transition concurrente est passée entre la lecture et l'écriture, celle-ci échoue
+     * au lieu d'ajuster une seconde fois les compteurs de l'annonce
+     */
+    private void transition(Booking booking, Booking.BookingStatus status, Set<Booking.BookingStatus> expected) {
+        if (bookingRepository.transitionStatus(booking.getId(), expected, status) == 0) {
+            throw new RuntimeException("Cette réservation a été modifiée entre-temps, veuillez réessayer");
+        }
+        booking.setStatus(status);
+    }
 }
@@ -0,0 +1,198 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.repository.ListingRepository;
+import fr.petswap.backend.dto.ListingDto;
+import fr.petswap.backend.mapper.ListingMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+/**
+ * Pile ("deck") des prochaines annonces à proposer à chaque pet-sitter.
+ * Le deck est rempli par un worker en arrière-plan dès qu'il passe sous le seuil bas,
+ * de sorte qu'un swipe ne dépende plus de la taille de la table des annonces.
+ */
+@Slf4j
+@Service
+public class DiscoverDeckService {
+
+    private final SwipeService swipeService;
+    private final SwipedListingCache swipedListingCache;
+    private final ListingRepository listingRepository;
+    private final ListingMapper listingMapper;
+
+    private final int deckSize;
+    private final int lowWaterMark;
+    private final int maxDecks;
+    private final ThreadPoolExecutor refillExecutor;
+
+    private final LinkedHashMap<UUID, Deck> decks = new LinkedHashMap<>(16, 0.75f, true);
+
+    public DiscoverDeckService(SwipeService swipeService,
+                               SwipedListingCache swipedListingCache,
+                               ListingRepository listingRepository,
+                               ListingMapper listingMapper,
+                               DiscoverProperties properties) {
+        this.swipeService = swipeService;
+        this.swipedListingCache = swipedListingCache;
+        this.listingRepository = listingRepository;
+        this.listingMapper = listingMapper;
+
+        DiscoverProperties.Deck deck = properties.deck();
+        this.deckSize = deck.size();
+        this.lowWaterMark = deck.lowWaterMark();
+        this.maxDecks = deck.maxDecks();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refillExecutor = new ThreadPoolExecutor(
+                deck.refillThreads(), deck.refillThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(deck.refillQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "discover-deck-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.refillExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Dépile la prochaine annonce à proposer, ou vide si le pet-sitter a tout vu
+     */
+    public Optional<ListingDto> nextListing(UUID userId) {
+        Deck deck = deckFor(userId);
+        IntPredicate swiped = swipedListingCache.getSwipedFilter(userId);
+
+        while (true) {
+            Integer listingId = deck.poll();
+            if (listingId == null) {
+                // Deck vide (premier appel ou worker en retard) : on remplit de façon synchrone
+                if (!refill(userId, deck)) {
+                    return Optional.empty();
+                }
+                continue;
+            }
+
+            if (deck.size() < lowWaterMark) {
+                scheduleRefill(userId, deck);
+            }
+
+            // L'annonce a pu être swipée ou désactivée depuis la construction du deck
+            if (swiped.test(listingId)) {
+                continue;
+            }
+            Optional<Listing> listing = listingRepository.findById(listingId)
+                    .filter(l -> l.getStatus() == Listing.ListingStatus.ACTIVE);
+            if (listing.isPresent()) {
+                return listing.map(listingMapper::toDto);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private synchronized Deck deckFor(UUID userId) {
+        Deck deck = decks.computeIfAbsent(userId, id -> new Deck());
+        if (decks.size() > maxDecks) {
+            Iterator<Map.Entry<UUID, Deck>> eldest = decks.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return deck;
+    }
+
+    private void scheduleRefill(UUID userId, Deck deck) {
+        if (!deck.refillScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    refill(userId, deck);
+                } catch (RuntimeException e) {
+                    log.warn("Échec du rechargement du deck de l'utilisateur {}", userId, e);
+                } finally {
+                    deck.refillScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // File pleine : le prochain pop relancera le rechargement
+            deck.refillScheduled.set(false);
+            log.debug("Rechargement du deck de l'utilisateur {} différé", userId);
+        }
+    }
+
+    /**
+     * Complète le deck jusqu'à sa taille cible. Retourne false si plus aucune annonce n'est disponible.
+     */
+    private boolean refill(UUID userId, Deck deck) {
+        synchronized (deck.refillLock) {
+            // Un autre thread a pu remplir le deck pendant qu'on attendait le verrou
+            int current = deck.size();
+            if (current > 0 && current >= lowWaterMark) {
+                return true;
+            }
+
+            int wanted = deckSize - current;
+            int scanFrom = deck.lastScannedId;
+            List<Integer> listingIds = new ArrayList<>(swipeService.findUnswipedListingIds(userId, scanFrom, wanted));
+            int lastScannedId = listingIds.isEmpty() ? scanFrom : listingIds.get(listingIds.size() - 1);
+            if (listingIds.size() < wanted && scanFrom > 0) {
+                // Fin des annonces atteinte : on repart du début, pour reproposer les annonces dépilées
+                // mais jamais swipées et celles réactivées ou créées avec un identifiant déjà dépassé
+                List<Integer> fromStart = swipeService.findUnswipedListingIds(userId, 0, wanted - listingIds.size());
+                listingIds.addAll(fromStart);
+                lastScannedId = fromStart.isEmpty() ? 0 : fromStart.get(fromStart.size() - 1);
+            }
+            deck.append(listingIds, lastScannedId);
+            log.debug("Deck de l'utilisateur {} rechargé avec {} annonces", userId, listingIds.size());
+            return deck.size() > 0;
+        }
+    }
+
+    private static final class Deck {
+        private final ArrayDeque<Integer> listingIds = new ArrayDeque<>();
+        private final Object refillLock = new Object();
+        private final AtomicBoolean refillScheduled = new AtomicBoolean();
+        // Dernier identifiant parcouru : le prochain rechargement reprend après lui
+        private int lastScannedId;
+
+        synchronized Integer poll() {
+            return listingIds.poll();
+        }
+
+        synchronized int size() {
+            return listingIds.size();
+        }
+
+        synchronized void append(List<Integer> ids, int scannedUpTo) {
+            for (Integer id : ids) {
+                // Après un retour au début, une annonce peut déjà être dans le deck
+                if (!listingIds.contains(id)) {
+                    listingIds.add(id);
+                }
+            }
+            lastScannedId = scannedUpTo;
+        }
+    }
+}
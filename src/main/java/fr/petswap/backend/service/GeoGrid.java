@@ -0,0 +1,81 @@
+package fr.petswap.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Découpage de la Terre en cellules de 0,25° indexées par un entier (colonne listings.geo_cell).
+ * Une recherche par rayon se ramène à un IN sur les quelques cellules qui couvrent le cercle,
+ * servi par un index B-tree classique, puis à un filtrage exact par distance.
+ */
+public final class GeoGrid {
+
+    static final double CELL_SIZE_DEG = 0.25;
+    private static final int LNG_CELLS = (int) (360 / CELL_SIZE_DEG);
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoGrid() {
+    }
+
+    public static int cellOf(double latitude, double longitude) {
+        return cellIndex(latIndex(latitude), lngIndex(longitude));
+    }
+
+    /**
+     * Cellules couvrant le carré englobant du cercle (centre, rayon)
+     */
+    public static List<Integer> cellsWithin(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lngDelta = cosLat <= 0 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat));
+
+        int minLat = latIndex(Math.max(-90, latitude - latDelta));
+        int maxLat = latIndex(Math.min(90, latitude + latDelta));
+        int minLng = (int) Math.floor((longitude - lngDelta + 180) / CELL_SIZE_DEG);
+        int maxLng = (int) Math.floor((longitude + lngDelta + 180) / CELL_SIZE_DEG);
+        if (maxLng - minLng + 1 >= LNG_CELLS) {
+            minLng = 0;
+            maxLng = LNG_CELLS - 1;
+        }
+
+        List<Integer> cells = new ArrayList<>((maxLat - minLat + 1) * (maxLng - minLng + 1));
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int lng = minLng; lng <= maxLng; lng++) {
+                // floorMod gère le passage de l'antiméridien
+                cells.add(cellIndex(lat, Math.floorMod(lng, LNG_CELLS)));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Distance orthodromique (formule de haversine) en kilomètres
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static void checkCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordonnées invalides");
+        }
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_SIZE_DEG);
+    }
+
+    private static int lngIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_SIZE_DEG), LNG_CELLS);
+    }
+
+    private static int cellIndex(int latIndex, int lngIndex) {
+        return latIndex * LNG_CELLS + lngIndex;
+    }
+}
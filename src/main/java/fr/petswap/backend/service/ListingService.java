@@ -7,6 +7,8 @@ import fr.petswap.backend.dao.repository.ListingRepository;
 import fr.petswap.backend.dao.repository.PetRepository;
 import fr.petswap.backend.dao.repository.ProfileRepository;
 import fr.petswap.backend.dto.CreateListingRequest;
+import fr.petswap.backend.dto.DateRangeDto;
+import fr.petswap.backend.dto.ListingAvailabilityDto;
 import fr.petswap.backend.dto.ListingDto;
 import fr.petswap.backend.exception.UserNotFoundException;
 import fr.petswap.backend.mapper.ListingMapper;
@@ -15,18 +17,28 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ListingService {
 
+    static final double DEFAULT_RADIUS_KM = 20;
+    static final double MAX_RADIUS_KM = 100;
+    static final int MAX_NEARBY_LISTINGS = 200;
+
     private final ListingRepository listingRepository;
     private final PetRepository petRepository;
     private final ProfileRepository profileRepository;
     private final ListingMapper listingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Transactional
     public ListingDto createListing(UUID ownerId, CreateListingRequest request) {
@@ -54,6 +66,7 @@ public class ListingService {
                 .location(request.getLocation())
                 .status(Listing.ListingStatus.ACTIVE)
                 .build();
+        applyCoordinates(listing, request);
 
         Listing savedListing = listingRepository.save(listing);
         log.info("Annonce {} créée avec succès", savedListing.getId());
@@ -75,12 +88,118 @@ public class ListingService {
                 .toList();
     }
 
+    /**
+     * Annonces actives dans un rayon autour d'un point, de la plus proche à la plus lointaine (au plus MAX_NEARBY_LISTINGS)
+     */
+    public List<ListingDto> getNearbyListings(UUID userId, double latitude, double longitude, Double radiusKm) {
+        List<NearbyListing> nearby = findNearbyActiveListings(userId, latitude, longitude, radiusKm, MAX_NEARBY_LISTINGS);
+        Map<Integer, Listing> listings = listingRepository.findAllById(nearby.stream().map(NearbyListing::listingId).toList())
+                .stream()
+                .collect(Collectors.toMap(Listing::getId, Function.identity()));
+
+        return nearby.stream()
+                .filter(candidate -> listings.containsKey(candidate.listingId()))
+                .map(candidate -> {
+                    ListingDto dto = listingMapper.toDto(listings.get(candidate.listingId()));
+                    dto.setDistanceKm(candidate.distanceKm());
+                    return dto;
+                })
+                .toList();
+    }
+
+    public record NearbyListing(Integer listingId, double distanceKm) {
+    }
+
+    /**
+     * Les {@code limit} annonces actives les plus proches dans le rayon, triées par distance puis par identifiant.
+     * Seules les cellules de la grille couvrant le cercle sont lues ; distance, tri et limite sont calculés par la base.
+     */
+    public List<NearbyListing> findNearbyActiveListings(UUID userId, double latitude, double longitude, Double radiusKm, int limit) {
+        double radius = effectiveRadius(latitude, longitude, radiusKm);
+        return toNearbyListings(listingRepository.findNearbyActiveListings(userId,
+                GeoGrid.cellsWithin(latitude, longitude, radius), latitude, longitude, radius, -1, 0, limit));
+    }
+
+    /**
+     * Les {@code limit} annonces actives non swipées les plus proches, après le curseur {@code after} (distance, identifiant)
+     * s'il est fourni
+     */
+    public List<NearbyListing> findNearbyUnswipedListings(UUID userId, double latitude, double longitude, Double radiusKm,
+                                                          NearbyListing after, int limit) {
+        double radius = effectiveRadius(latitude, longitude, radiusKm);
+        return toNearbyListings(listingRepository.findNearbyUnswipedListings(userId,
+                GeoGrid.cellsWithin(latitude, longitude, radius), latitude, longitude, radius,
+                after == null ? -1 : after.distanceKm(), after == null ? 0 : after.listingId(), limit));
+    }
+
+    private static double effectiveRadius(double latitude, double longitude, Double radiusKm) {
+        GeoGrid.checkCoordinates(latitude, longitude);
+        double radius = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Le rayon doit être positif");
+        }
+        return Math.min(radius, MAX_RADIUS_KM);
+    }
+
+    private static List<NearbyListing> toNearbyListings(List<ListingRepository.NearbyListingRow> rows) {
+        return rows.stream()
+                .map(row -> new NearbyListing(row.getId(), row.getDistanceKm()))
+                .toList();
+    }
+
     public ListingDto getListingById(Integer listingId) {
         Listing listing = listingRepository.findById(listingId)
                 .orElseThrow(() -> new RuntimeException("Annonce non trouvée"));
         return listingMapper.toDto(listing);
     }
 
+    /**
+     * Jours libres et occupés d'une annonce sur [from, to] (par défaut toute la période de l'annonce).
+     * Seuls les jours compris dans la période de l'annonce apparaissent dans l'une ou l'autre liste.
+     */
+    @Transactional(readOnly = true)
+    public ListingAvailabilityDto getAvailability(Integer listingId, LocalDate from, LocalDate to) {
+        Listing listing = listingRepository.findById(listingId)
+                .orElseThrow(() -> new RuntimeException("Annonce non trouvée"));
+
+        LocalDate start = from == null ? listing.getStartDate() : from;
+        LocalDate end = to == null ? listing.getEndDate() : to;
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
+        }
+
+        LocalDate windowStart = start.isAfter(listing.getStartDate()) ? start : listing.getStartDate();
+        LocalDate windowEnd = end.isBefore(listing.getEndDate()) ? end : listing.getEndDate();
+        List<DateRangeDto> free = new ArrayList<>();
+        List<DateRangeDto> busy = new ArrayList<>();
+
+        if (!windowEnd.isBefore(windowStart)) {
+            LocalDate cursor = windowStart;
+            for (BookingIntervalIndex.BookedPeriod period : bookingIntervalIndex.bookedPeriods(listingId, windowStart, windowEnd)) {
+                LocalDate bookedStart = period.startDate().isAfter(cursor) ? period.startDate() : cursor;
+                LocalDate bookedEnd = period.endDate().isBefore(windowEnd) ? period.endDate() : windowEnd;
+                if (bookedEnd.isBefore(bookedStart)) {
+                    continue;
+                }
+                if (bookedStart.isAfter(cursor)) {
+                    free.add(new DateRangeDto(cursor, bookedStart.minusDays(1)));
+                }
+                DateRangeDto last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+                if (last != null && last.getEndDate().plusDays(1).equals(bookedStart)) {
+                    last.setEndDate(bookedEnd); // Réservations consécutives fusionnées
+                } else {
+                    busy.add(new DateRangeDto(bookedStart, bookedEnd));
+                }
+                cursor = bookedEnd.plusDays(1);
+            }
+            if (!cursor.isAfter(windowEnd)) {
+                free.add(new DateRangeDto(cursor, windowEnd));
+            }
+        }
+
+        return new ListingAvailabilityDto(listingId, start, end, free, busy);
+    }
+
     @Transactional
     public ListingDto updateListing(Integer listingId, CreateListingRequest request) {
         Listing listing = listingRepository.findById(listingId)
@@ -92,11 +211,25 @@ public class ListingService {
         listing.setEndDate(request.getEndDate());
         listing.setPricePerDay(request.getPricePerDay());
         listing.setLocation(request.getLocation());
+        applyCoordinates(listing, request);
 
         Listing savedListing = listingRepository.save(listing);
         return listingMapper.toDto(savedListing);
     }
 
+    private static void applyCoordinates(Listing listing, CreateListingRequest request) {
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            listing.setLatitude(null);
+            listing.setLongitude(null);
+            listing.setGeoCell(null);
+            return;
+        }
+        GeoGrid.checkCoordinates(request.getLatitude(), request.getLongitude());
+        listing.setLatitude(request.getLatitude());
+        listing.setLongitude(request.getLongitude());
+        listing.setGeoCell(GeoGrid.cellOf(request.getLatitude(), request.getLongitude()));
+    }
+
     @Transactional
     public void deleteListing(Integer listingId) {
         listingRepository.deleteById(listingId);
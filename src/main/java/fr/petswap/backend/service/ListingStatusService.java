@@ -1,8 +1,6 @@
 package fr.petswap.backend.service;
 
-import fr.petswap.backend.dao.jpa.Booking;
 import fr.petswap.backend.dao.jpa.Listing;
-import fr.petswap.backend.dao.repository.BookingRepository;
 import fr.petswap.backend.dao.repository.ListingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +8,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Service pour gérer la logique des statuts d'annonce de manière cohérente
@@ -22,44 +19,27 @@ import java.util.List;
 public class ListingStatusService {
 
     private final ListingRepository listingRepository;
-    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     /**
-     * Met à jour le statut d'une annonce en fonction de ses réservations
+     * Une garde vient d'être confirmée : l'annonce passe en RESERVED
      */
-    public void updateListingStatus(Integer listingId) {
-        Listing listing = listingRepository.findById(listingId)
-                .orElseThrow(() -> new RuntimeException("Annonce non trouvée"));
-
-        // Récupérer toutes les réservations confirmées pour cette annonce
-        List<Booking> confirmedBookings = bookingRepository.findConfirmedBookingsByListingId(listingId);
-
-        if (confirmedBookings.isEmpty()) {
-            // Aucune réservation confirmée → ACTIVE
-            if (listing.getStatus() != Listing.ListingStatus.INACTIVE) {
-                listing.setStatus(Listing.ListingStatus.ACTIVE);
-                log.info("Annonce {} mise à jour vers ACTIVE", listingId);
-            }
-        } else {
-            // Il y a des réservations confirmées → RESERVED
-            listing.setStatus(Listing.ListingStatus.RESERVED);
-            log.info("Annonce {} mise à jour vers RESERVED", listingId);
-        }
+    public void bookingConfirmed(Integer listingId) {
+        adjustBookingCounters(listingId, 1, 0);
+    }
 
-        // Vérifier si toutes les réservations sont terminées et dans le passé
-        boolean allBookingsCompleted = confirmedBookings.stream()
-                .allMatch(booking ->
-                    booking.getStatus() == Booking.BookingStatus.COMPLETED &&
-                    booking.getEndDate().isBefore(LocalDate.now())
-                );
-
-        if (allBookingsCompleted && !confirmedBookings.isEmpty() &&
-            listing.getEndDate().isBefore(LocalDate.now())) {
-            listing.setStatus(Listing.ListingStatus.COMPLETED);
-            log.info("Annonce {} mise à jour vers COMPLETED", listingId);
-        }
+    /**
+     * Une garde confirmée ou en cours vient d'être terminée
+     */
+    public void bookingCompleted(Integer listingId) {
+        adjustBookingCounters(listingId, -1, 1);
+    }
 
-        listingRepository.save(listing);
+    /**
+     * Une garde confirmée ou en cours vient d'être annulée
+     */
+    public void bookingCancelled(Integer listingId) {
+        adjustBookingCounters(listingId, -1, 0);
     }
 
     /**
@@ -77,9 +57,7 @@ public class ListingStatusService {
      * Vérifie si des dates spécifiques sont disponibles pour une annonce
      */
     public boolean areDatesAvailable(Integer listingId, LocalDate startDate, LocalDate endDate) {
-        List<Booking> conflictingBookings = bookingRepository.findConflictingConfirmedBookings(
-            listingId, startDate, endDate);
-        return conflictingBookings.isEmpty();
+        return !bookingIntervalIndex.hasConflict(listingId, startDate, endDate);
     }
 
     /**
@@ -102,9 +80,28 @@ public class ListingStatusService {
                 .orElseThrow(() -> new RuntimeException("Annonce non trouvée"));
 
         if (listing.getStatus() == Listing.ListingStatus.INACTIVE) {
-            // Recalculer le statut approprié
-            updateListingStatus(listingId);
-            log.info("Annonce {} réactivée", listingId);
+            // Recalculer le statut approprié à partir des compteurs
+            listing.setStatus(statusFor(listing, LocalDate.now()));
+            listingRepository.save(listing);
+            log.info("Annonce {} réactivée en {}", listingId, listing.getStatus());
+        }
+    }
+
+    private void adjustBookingCounters(Integer listingId, int activeDelta, int completedDelta) {
+        if (listingRepository.adjustBookingCounters(listingId, activeDelta, completedDelta, LocalDate.now()) == 0) {
+            throw new RuntimeException("Annonce non trouvée");
+        }
+        log.debug("Compteurs de réservations de l'annonce {} ajustés ({}, {})", listingId, activeDelta, completedDelta);
+    }
+
+    // Mêmes règles que ListingRepository.adjustBookingCounters
+    private static Listing.ListingStatus statusFor(Listing listing, LocalDate today) {
+        if (listing.getActiveBookingCount() > 0) {
+            return Listing.ListingStatus.RESERVED;
+        }
+        if (listing.getEndDate().isBefore(today) && listing.getCompletedBookingCount() > 0) {
+            return Listing.ListingStatus.COMPLETED;
         }
+        return Listing.ListingStatus.ACTIVE;
     }
 }
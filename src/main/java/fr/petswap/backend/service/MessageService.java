@@ -1,19 +1,31 @@
 package fr.petswap.backend.service;
 
-import fr.petswap.backend.dao.jpa.Match;
 import fr.petswap.backend.dao.jpa.Message;
-import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.dao.repository.ConversationSummaryJdbcRepository;
 import fr.petswap.backend.dao.repository.MatchRepository;
 import fr.petswap.backend.dao.repository.MessageRepository;
 import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dto.ConversationPageDto;
+import fr.petswap.backend.dto.ConversationSummaryDto;
 import fr.petswap.backend.dto.MessageDto;
+import fr.petswap.backend.dto.MessagePageDto;
 import fr.petswap.backend.dto.SendMessageRequest;
+import fr.petswap.backend.dto.UnreadCountDto;
 import fr.petswap.backend.mapper.MessageMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,75 +39,202 @@ public class MessageService {
     private final MatchRepository matchRepository;
     private final ProfileRepository profileRepository;
     private final MessageMapper messageMapper;
+    private final ConversationSummaryJdbcRepository conversationSummaryJdbcRepository;
+    private final MessageStreamHub messageStreamHub;
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+    static final int PREVIEW_LENGTH = 200;
+    static final int DEFAULT_HISTORY_SIZE = 50;
+    static final int MAX_HISTORY_SIZE = 100;
 
     /**
      * Envoyer un message dans une conversation
+     * (le nom de l'expéditeur est lu avec les participants du match, pour ne pas relire son profil)
      */
     public MessageDto sendMessage(UUID senderId, SendMessageRequest request) {
         log.info("Envoi d'un message par l'utilisateur {} pour le match {}", senderId, request.getMatchId());
 
         // Vérifier que le match existe et que l'utilisateur y participe
-        Match match = matchRepository.findById(request.getMatchId())
-                .orElseThrow(() -> new RuntimeException("Match non trouvé"));
-
-        // Vérifier que l'utilisateur fait partie du match
-        if (!match.getPetSitter().getId().equals(senderId) &&
-            !match.getListing().getOwner().getId().equals(senderId)) {
-            throw new RuntimeException("Vous n'êtes pas autorisé à envoyer des messages dans cette conversation");
-        }
+        MatchRepository.MatchParticipants participants = findParticipants(request.getMatchId(), senderId,
+                "Vous n'êtes pas autorisé à envoyer des messages dans cette conversation");
 
         // Vérifier que le match est confirmé
-        if (!match.isOwnerLikedBack()) {
+        if (!participants.isOwnerLikedBack()) {
             throw new RuntimeException("Le match doit être confirmé pour envoyer des messages");
         }
 
-        Profile sender = profileRepository.findById(senderId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
-
+        // Références seulement : l'insertion n'a besoin que des identifiants
         Message message = Message.builder()
-                .match(match)
-                .sender(sender)
+                .match(matchRepository.getReferenceById(participants.getId()))
+                .sender(profileRepository.getReferenceById(senderId))
                 .content(request.getContent())
                 .build();
 
         Message savedMessage = messageRepository.save(message);
+        UUID recipientId = participants.getPetSitterId().equals(senderId)
+                ? participants.getOwnerId()
+                : participants.getPetSitterId();
+        conversationSummaryJdbcRepository.recordMessage(new ConversationSummaryJdbcRepository.NewMessage(
+                participants.getId(), savedMessage.getId(), senderId, recipientId,
+                preview(savedMessage.getContent()), savedMessage.getSentAt()));
         log.info("Message {} envoyé avec succès", savedMessage.getId());
 
-        return messageMapper.toDto(savedMessage);
+        MessageDto messageDto = messageMapper.toDto(savedMessage, participants.usernameOf(senderId));
+        publishAfterCommit(List.of(recipientId, senderId), messageDto);
+        return messageDto;
     }
 
     /**
-     * Récupérer tous les messages d'un match
+     * Historique paginé d'un match : la page la plus récente par défaut, ou les messages avant / après un curseur
      */
     @Transactional(readOnly = true)
-    public List<MessageDto> getMessagesForMatch(Integer matchId, UUID userId) {
+    public MessagePageDto getMessagesForMatch(Integer matchId, UUID userId, String before, String after, Integer size) {
         log.info("Récupération des messages du match {} pour l'utilisateur {}", matchId, userId);
 
         // Vérifier que le match existe et que l'utilisateur y participe
-        Match match = matchRepository.findById(matchId)
-                .orElseThrow(() -> new RuntimeException("Match non trouvé"));
+        findParticipants(matchId, userId, "Vous n'êtes pas autorisé à voir cette conversation");
 
-        if (!match.getPetSitter().getId().equals(userId) &&
-            !match.getListing().getOwner().getId().equals(userId)) {
-            throw new RuntimeException("Vous n'êtes pas autorisé à voir cette conversation");
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Les curseurs before et after ne peuvent pas être combinés");
+        }
+        int pageSize = size == null ? DEFAULT_HISTORY_SIZE : Math.clamp(size, 1, MAX_HISTORY_SIZE);
+        // On demande un élément de plus pour savoir s'il existe une page suivante
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Message> page;
+        boolean hasOlder;
+        if (after != null) {
+            MessageCursor cursor = decodeMessageCursor(after);
+            List<Message> items = messageRepository.findAfterForMatch(matchId, cursor.sentAt(), cursor.id(), limit);
+            page = items.size() > pageSize ? items.subList(0, pageSize) : items;
+            hasOlder = true;
+        } else {
+            List<Message> items;
+            if (before == null) {
+                items = messageRepository.findLatestForMatch(matchId, limit);
+            } else {
+                MessageCursor cursor = decodeMessageCursor(before);
+                items = messageRepository.findBeforeForMatch(matchId, cursor.sentAt(), cursor.id(), limit);
+            }
+            hasOlder = items.size() > pageSize;
+            // Lus du plus récent au plus ancien, renvoyés dans l'ordre chronologique
+            page = new ArrayList<>(hasOlder ? items.subList(0, pageSize) : items);
+            Collections.reverse(page);
         }
 
-        List<Message> messages = messageRepository.findByMatchIdOrderBySentAtAsc(matchId);
-        return messages.stream()
-                .map(messageMapper::toDto)
-                .toList();
+        if (page.isEmpty()) {
+            return new MessagePageDto(List.of(), null, null);
+        }
+        String beforeCursor = hasOlder ? encodeMessageCursor(page.get(0)) : null;
+        String afterCursor = encodeMessageCursor(page.get(page.size() - 1));
+        return new MessagePageDto(page.stream().map(messageMapper::toDto).toList(), beforeCursor, afterCursor);
     }
 
     /**
-     * Récupérer les derniers messages de toutes les conversations d'un utilisateur
+     * Boîte de réception paginée : dernier message et non-lus de chaque conversation, de la plus récente à la plus ancienne
      */
     @Transactional(readOnly = true)
-    public List<MessageDto> getConversationsForUser(UUID userId) {
+    public ConversationPageDto getConversationsForUser(UUID userId, String cursor, Integer size) {
         log.info("Récupération des conversations pour l'utilisateur {}", userId);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        // On demande un élément de plus pour savoir s'il existe une page suivante
+        List<ConversationSummaryDto> items =
+                conversationSummaryJdbcRepository.findPageForUser(userId, decodeCursor(cursor), pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        List<ConversationSummaryDto> conversations = hasMore ? items.subList(0, pageSize) : items;
+
+        String nextCursor = hasMore ? encodeCursor(conversations.get(conversations.size() - 1).getLastMessageId()) : null;
+        return new ConversationPageDto(conversations, nextCursor);
+    }
 
-        List<Message> messages = messageRepository.findConversationsForUser(userId);
-        return messages.stream()
-                .map(messageMapper::toDto)
-                .toList();
+    /**
+     * Marque la conversation comme lue par l'utilisateur jusqu'au message {@code upTo} et retourne son nouveau total de non-lus
+     */
+    public UnreadCountDto markConversationRead(Integer matchId, UUID userId, Integer upTo) {
+        if (upTo == null || upTo <= 0) {
+            throw new IllegalArgumentException("Le dernier message lu est obligatoire");
+        }
+        findParticipants(matchId, userId, "Vous n'êtes pas autorisé à voir cette conversation");
+
+        conversationSummaryJdbcRepository.markRead(userId, matchId, upTo);
+        log.debug("Conversation {} lue par l'utilisateur {} jusqu'au message {}", matchId, userId, upTo);
+        return new UnreadCountDto(conversationSummaryJdbcRepository.countUnread(userId));
+    }
+
+    /**
+     * Total des messages non lus de l'utilisateur, pour le badge
+     */
+    @Transactional(readOnly = true)
+    public UnreadCountDto getUnreadCount(UUID userId) {
+        return new UnreadCountDto(conversationSummaryJdbcRepository.countUnread(userId));
+    }
+
+    /**
+     * Participants du match, sans charger le match, l'annonce ni les profils
+     */
+    private MatchRepository.MatchParticipants findParticipants(Integer matchId, UUID userId, String deniedMessage) {
+        MatchRepository.MatchParticipants participants = matchRepository.findParticipantsById(matchId)
+                .orElseThrow(() -> new RuntimeException("Match non trouvé"));
+        if (!participants.isParticipant(userId)) {
+            throw new RuntimeException(deniedMessage);
+        }
+        return participants;
+    }
+
+    /**
+     * Pousse le message vers les flux SSE des deux participants une fois la transaction validée
+     * (l'expéditeur peut avoir d'autres appareils connectés)
+     */
+    private void publishAfterCommit(List<UUID> userIds, MessageDto message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userIds.forEach(userId -> messageStreamHub.publish(userId, message));
+                }
+            });
+        } else {
+            userIds.forEach(userId -> messageStreamHub.publish(userId, message));
+        }
+    }
+
+    private static String preview(String content) {
+        return content.length() <= PREVIEW_LENGTH ? content : content.substring(0, PREVIEW_LENGTH);
+    }
+
+    record MessageCursor(Instant sentAt, int id) {
+    }
+
+    static String encodeMessageCursor(Message message) {
+        String payload = message.getSentAt().getEpochSecond() + ":" + message.getSentAt().getNano() + ":" + message.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static MessageCursor decodeMessageCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            Instant sentAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new MessageCursor(sentAt, Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+    }
+
+    static String encodeCursor(int messageId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(messageId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Integer.MAX_VALUE;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
     }
 }
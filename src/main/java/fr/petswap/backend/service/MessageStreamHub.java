@@ -0,0 +1,209 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.MessagingProperties;
+import fr.petswap.backend.dto.MessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Diffusion en temps réel des messages aux flux SSE ouverts, dans l'instance courante.
+ * Chaque flux a son propre tampon borné, vidé par un thread virtuel : un client lent ne retarde pas les autres
+ * et il est déconnecté dès que son tampon déborde. Les connexions inactives ne consomment pas de thread
+ * (requête asynchrone côté servlet).
+ */
+@Slf4j
+@Component
+public class MessageStreamHub {
+
+    private static final String METRIC_PREFIX = "petswap.messages.streams";
+
+    private final int bufferSize;
+    private final int maxStreamsPerUser;
+    private final long timeoutMillis;
+    private final Executor sender;
+    private final LongFunction<SseEmitter> emitterFactory;
+
+    private final ConcurrentHashMap<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter evictions;
+
+    @Autowired
+    public MessageStreamHub(MessagingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("message-stream-", 0).factory()),
+                SseEmitter::new);
+    }
+
+    MessageStreamHub(MessagingProperties properties, MeterRegistry meterRegistry,
+                     Executor sender, LongFunction<SseEmitter> emitterFactory) {
+        MessagingProperties.Stream stream = properties.stream();
+        this.bufferSize = stream.bufferSize();
+        this.maxStreamsPerUser = stream.maxStreamsPerUser();
+        this.timeoutMillis = stream.timeout().toMillis();
+        this.sender = sender;
+        this.emitterFactory = emitterFactory;
+
+        this.evictions = Counter.builder(METRIC_PREFIX + ".evictions").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".open", openStreams, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Ouvre un flux pour l'utilisateur ; au-delà du nombre maximal de flux, le plus ancien est fermé
+     */
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = emitterFactory.apply(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // compute plutôt que computeIfAbsent + add : la liste ne doit pas être retirée entre les deux
+        List<Subscriber> streams = subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> list = current == null ? new CopyOnWriteArrayList<>() : current;
+            list.add(subscriber);
+            return list;
+        });
+        openStreams.incrementAndGet();
+        while (streams.size() > maxStreamsPerUser) {
+            streams.get(0).close();
+        }
+
+        // Premier envoi pour que le client reçoive les en-têtes sans attendre un message
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        log.debug("Flux de messages ouvert pour l'utilisateur {}", userId);
+        return emitter;
+    }
+
+    /**
+     * Pousse un message vers tous les flux ouverts de l'utilisateur
+     */
+    public void publish(UUID userId, MessageDto message) {
+        List<Subscriber> streams = subscribers.get(userId);
+        if (streams == null) {
+            return;
+        }
+        for (Subscriber subscriber : streams) {
+            subscriber.offer(SseEmitter.event()
+                    .id(String.valueOf(message.getId()))
+                    .name("message")
+                    .data(message));
+        }
+    }
+
+    /**
+     * Commentaire périodique pour que proxies et répartiteurs de charge ne coupent pas les flux inactifs
+     */
+    @Scheduled(fixedDelayString = "${petswap.messages.stream.heartbeat:25s}")
+    public void heartbeat() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber ->
+                subscriber.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    int streamCount(UUID userId) {
+        List<Subscriber> streams = subscribers.get(userId);
+        return streams == null ? 0 : streams.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(streams -> streams.forEach(Subscriber::close));
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        openStreams.decrementAndGet();
+        log.debug("Flux de messages fermé pour l'utilisateur {}", subscriber.userId);
+    }
+
+    private final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Client trop lent : il se reconnectera et rattrapera l'historique
+                evictions.increment();
+                log.info("Flux de messages de l'utilisateur {} fermé : tampon plein", userId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void close() {
+            remove(this);
+            emitter.complete();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Connexion coupée : le conteneur termine la requête, il suffit d'oublier le flux
+                log.debug("Échec d'envoi sur le flux de l'utilisateur {}", userId, e);
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // Un événement a pu arriver entre le dernier poll et la remise à zéro du drapeau
+            if (!closed.get() && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
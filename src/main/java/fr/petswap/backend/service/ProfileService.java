@@ -1,5 +1,6 @@
 package fr.petswap.backend.service;
 
+import fr.petswap.backend.config.PrincipalCache;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.repository.ProfileRepository;
 import fr.petswap.backend.dto.ProfileDto;
@@ -22,6 +23,7 @@ public class ProfileService {
 
     private final ProfileRepository profileRepository;
     private final ProfileMapper profileMapper;
+    private final PrincipalCache principalCache;
 
     public List<ProfileDto> getAllProfiles() {
         return profileRepository.findAll()
@@ -43,6 +45,9 @@ public class ProfileService {
         Profile profile = profileRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Profil non trouvé"));
 
+        String previousUsername = profile.getUsername();
+        Profile.Role previousRole = profile.getRole();
+
         // Vérifier si le nouveau nom d'utilisateur est déjà pris (si changé)
         if (request.getUsername() != null && !request.getUsername().equals(profile.getUsername())) {
             if (profileRepository.existsByUsername(request.getUsername())) {
@@ -66,6 +71,11 @@ public class ProfileService {
         Profile savedProfile = profileRepository.save(profile);
         log.info("Profil {} mis à jour avec succès", id);
 
+        // Le cache d'authentification contient le nom d'utilisateur et le rôle
+        if (!profile.getUsername().equals(previousUsername) || profile.getRole() != previousRole) {
+            principalCache.invalidate(id);
+        }
+
         return profileMapper.toDto(savedProfile);
     }
 
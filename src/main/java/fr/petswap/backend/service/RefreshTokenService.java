@@ -0,0 +1,92 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.AuthProperties;
+import fr.petswap.backend.dao.jpa.RefreshToken;
+import fr.petswap.backend.dao.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opaques et à usage unique : chaque rafraîchissement consomme le token présenté.
+ * Seule l'empreinte SHA-256 est stockée, une fuite de la table ne permet donc pas de les rejouer.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, AuthProperties properties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenTtl = properties.tokens().refreshTokenTtl();
+    }
+
+    /**
+     * Crée un refresh token pour l'utilisateur et retourne sa valeur en clair (jamais stockée)
+     */
+    public String create(UUID userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .userId(userId)
+                .expiresAt(Instant.now().plus(refreshTokenTtl))
+                .build());
+        return token;
+    }
+
+    /**
+     * Consomme le refresh token et retourne son utilisateur, ou vide s'il est inconnu, expiré ou déjà utilisé
+     */
+    @Transactional
+    public Optional<UUID> consume(String token) {
+        String tokenHash = hash(token);
+        Optional<RefreshToken> refreshToken = refreshTokenRepository.findById(tokenHash);
+        // Le DELETE départage deux rafraîchissements concurrents du même token
+        if (refreshToken.isEmpty() || refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            return Optional.empty();
+        }
+        if (refreshToken.get().getExpiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(refreshToken.get().getUserId());
+    }
+
+    public void revoke(String token) {
+        refreshTokenRepository.deleteByTokenHash(hash(token));
+    }
+
+    @Scheduled(cron = "0 30 * * * *")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("{} refresh tokens expirés supprimés", purged);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
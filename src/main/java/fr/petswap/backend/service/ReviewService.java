@@ -5,17 +5,26 @@ import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.jpa.Review;
 import fr.petswap.backend.dao.repository.BookingRepository;
 import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dao.repository.RatingHistogramJdbcRepository;
 import fr.petswap.backend.dao.repository.ReviewRepository;
 import fr.petswap.backend.dto.CreateReviewRequest;
 import fr.petswap.backend.dto.ReviewDto;
+import fr.petswap.backend.dto.ReviewPageDto;
+import fr.petswap.backend.dto.ReviewSummaryDto;
 import fr.petswap.backend.dto.ReviewStatusDto;
 import fr.petswap.backend.mapper.ReviewMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -27,8 +36,14 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
     private final ProfileRepository profileRepository;
+    private final RatingHistogramJdbcRepository ratingHistogramJdbcRepository;
     private final ReviewMapper reviewMapper;
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+    static final int SUMMARY_LATEST_REVIEWS = 5;
+    static final int MAX_STATUS_BATCH = 200;
+
     /**
      * Créer un avis après une réservation
      */
@@ -80,7 +95,7 @@ public class ReviewService {
         log.info("Avis {} créé avec succès", savedReview.getId());
 
         // Mettre à jour la note moyenne de l'utilisateur évalué
-        updateUserRating(reviewedUserId);
+        updateUserRating(reviewedUserId, request.getRating());
 
         return reviewMapper.toDto(savedReview);
     }
@@ -97,14 +112,45 @@ public class ReviewService {
     }
 
     /**
-     * Récupérer tous les avis reçus par un utilisateur
+     * Récupérer une page des avis reçus par un utilisateur, du plus récent au plus ancien
      */
     @Transactional(readOnly = true)
-    public List<ReviewDto> getReviewsForUser(UUID userId) {
-        List<Review> reviews = reviewRepository.findReviewsForUser(userId);
-        return reviews.stream()
+    public ReviewPageDto getReviewsForUser(UUID userId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        // On demande un élément de plus pour savoir s'il existe une page suivante
+        List<ReviewRepository.ReviewListItem> items =
+                reviewRepository.findPageForUser(userId, decodeCursor(cursor), Limit.of(pageSize + 1));
+        boolean hasMore = items.size() > pageSize;
+        List<ReviewDto> reviews = items.stream()
+                .limit(pageSize)
                 .map(reviewMapper::toDto)
                 .toList();
+
+        String nextCursor = hasMore ? encodeCursor(reviews.get(reviews.size() - 1).getId()) : null;
+        return new ReviewPageDto(reviews, nextCursor);
+    }
+
+    /**
+     * Résumé des avis reçus (histogramme, nombre, moyenne, derniers avis), sans parcourir tous les avis
+     */
+    @Transactional(readOnly = true)
+    public ReviewSummaryDto getReviewSummary(UUID userId) {
+        Map<Integer, Long> histogram = ratingHistogramJdbcRepository.findByUserId(userId);
+        long count = 0;
+        long sum = 0;
+        for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            count += entry.getValue();
+            sum += entry.getKey() * entry.getValue();
+        }
+        double average = count == 0 ? 0 : Math.round(sum * 10.0 / count) / 10.0;
+
+        List<ReviewDto> latestReviews = count == 0 ? List.of() : reviewRepository
+                .findPageForUser(userId, Integer.MAX_VALUE, Limit.of(SUMMARY_LATEST_REVIEWS))
+                .stream()
+                .map(reviewMapper::toDto)
+                .toList();
+        return new ReviewSummaryDto(userId, count, average, histogram, latestReviews);
     }
 
     /**
@@ -123,24 +169,7 @@ public class ReviewService {
      */
     @Transactional(readOnly = true)
     public boolean canUserReviewBooking(UUID userId, Integer bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
-
-        // Vérifier que l'utilisateur est participant
-        boolean isParticipant = booking.getMatch().getPetSitter().getId().equals(userId) ||
-                               booking.getMatch().getListing().getOwner().getId().equals(userId);
-
-        if (!isParticipant) {
-            return false;
-        }
-
-        // Vérifier que la réservation est terminée
-        if (booking.getStatus() != Booking.BookingStatus.COMPLETED) {
-            return false;
-        }
-
-        // Vérifier qu'il n'a pas déjà laissé d'avis
-        return reviewRepository.findByBookingIdAndReviewerId(bookingId, userId).isEmpty();
+        return canReview(findReviewStatus(bookingId), userId);
     }
 
     /**
@@ -148,37 +177,86 @@ public class ReviewService {
      */
     @Transactional(readOnly = true)
     public ReviewStatusDto getReviewStatus(Integer bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+        return toStatusDto(findReviewStatus(bookingId), null);
+    }
 
-        UUID petSitterId = booking.getMatch().getPetSitter().getId();
-        UUID ownerId = booking.getMatch().getListing().getOwner().getId();
+    /**
+     * Statuts des reviews de plusieurs bookings en une seule requête, avec canReview pour l'utilisateur
+     * (seuls les bookings dont l'utilisateur est propriétaire ou pet sitter sont renvoyés)
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewStatusDto> getReviewStatuses(UUID userId, Collection<Integer> bookingIds) {
+        if (bookingIds.size() > MAX_STATUS_BATCH) {
+            throw new IllegalArgumentException("Un lot ne peut pas dépasser " + MAX_STATUS_BATCH + " réservations");
+        }
+        if (bookingIds.isEmpty()) {
+            return List.of();
+        }
+        return reviewRepository.findReviewStatuses(new HashSet<>(bookingIds))
+                .stream()
+                .filter(row -> row.getOwnerId().equals(userId) || row.getPetSitterId().equals(userId))
+                .map(row -> toStatusDto(row, canReview(row, userId)))
+                .toList();
+    }
 
-        boolean ownerReviewedSitter = reviewRepository.findByBookingIdAndReviewerId(bookingId, ownerId).isPresent();
-        boolean sitterReviewedOwner = reviewRepository.findByBookingIdAndReviewerId(bookingId, petSitterId).isPresent();
+    private ReviewRepository.ReviewStatusRow findReviewStatus(Integer bookingId) {
+        return reviewRepository.findReviewStatuses(List.of(bookingId))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+    }
 
+    /**
+     * Participant à une réservation terminée et n'ayant pas encore laissé d'avis
+     */
+    private static boolean canReview(ReviewRepository.ReviewStatusRow row, UUID userId) {
+        if (row.getStatus() != Booking.BookingStatus.COMPLETED) {
+            return false;
+        }
+        if (row.getOwnerId().equals(userId)) {
+            return row.getOwnerReviews() == 0;
+        }
+        if (row.getPetSitterId().equals(userId)) {
+            return row.getSitterReviews() == 0;
+        }
+        return false;
+    }
+
+    private static ReviewStatusDto toStatusDto(ReviewRepository.ReviewStatusRow row, Boolean canReview) {
         return ReviewStatusDto.builder()
-                .bookingId(bookingId)
-                .ownerId(ownerId)
-                .petSitterId(petSitterId)
-                .ownerReviewedSitter(ownerReviewedSitter)
-                .sitterReviewedOwner(sitterReviewedOwner)
+                .bookingId(row.getBookingId())
+                .ownerId(row.getOwnerId())
+                .petSitterId(row.getPetSitterId())
+                .ownerReviewedSitter(row.getOwnerReviews() > 0)
+                .sitterReviewedOwner(row.getSitterReviews() > 0)
+                .canReview(canReview)
                 .build();
     }
 
     /**
-     * Mettre à jour la note moyenne d'un utilisateur
+     * Mettre à jour la note moyenne et l'histogramme d'un utilisateur à partir de ses agrégats
      */
-    private void updateUserRating(UUID userId) {
-        Profile user = profileRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
-
-        // Calculer la nouvelle note moyenne
-        Double averageRating = reviewRepository.getAverageRatingForUser(userId);
+    private void updateUserRating(UUID userId, int rating) {
+        if (profileRepository.addRating(userId, rating) == 0) {
+            throw new RuntimeException("Utilisateur non trouvé");
+        }
+        ratingHistogramJdbcRepository.increment(userId, rating);
+        log.info("Note {} ajoutée aux agrégats de l'utilisateur {}", rating, userId);
+    }
 
-        user.setRating(averageRating != null ? averageRating.floatValue() : 0.0f);
-        profileRepository.save(user);
+    static String encodeCursor(int reviewId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(reviewId).getBytes(StandardCharsets.UTF_8));
+    }
 
-        log.info("Note moyenne mise à jour pour l'utilisateur {} : {}", userId, averageRating);
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Integer.MAX_VALUE;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
     }
 }
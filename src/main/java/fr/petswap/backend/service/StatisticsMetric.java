@@ -0,0 +1,54 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.dao.jpa.Booking;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Indicateurs agrégés par jour dans daily_stats ; {@link #key()} est la valeur stockée et exposée par l'API
+ */
+public enum StatisticsMetric {
+    NEW_USERS("new-users"),
+    SWIPES("swipes"),
+    MATCHES("matches"),
+    MATCHES_CONFIRMED("matches-confirmed"),
+    BOOKINGS_CREATED("bookings-created"),
+    BOOKINGS_CONFIRMED("bookings-confirmed"),
+    BOOKINGS_IN_PROGRESS("bookings-in-progress"),
+    BOOKINGS_COMPLETED("bookings-completed"),
+    BOOKINGS_CANCELLED("bookings-cancelled"),
+    // Montant des réservations confirmées, diminué de celui des réservations confirmées puis annulées
+    BOOKED_REVENUE("booked-revenue");
+
+    private final String key;
+
+    StatisticsMetric(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static StatisticsMetric fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(metric -> metric.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Indicateur inconnu : " + key + " (valeurs possibles : "
+                        + Arrays.stream(values()).map(StatisticsMetric::key).collect(Collectors.joining(", ")) + ")"));
+    }
+
+    /**
+     * Indicateur comptant les réservations entrant dans ce statut
+     */
+    public static StatisticsMetric forBookingStatus(Booking.BookingStatus status) {
+        return switch (status) {
+            case PENDING -> BOOKINGS_CREATED;
+            case CONFIRMED -> BOOKINGS_CONFIRMED;
+            case IN_PROGRESS -> BOOKINGS_IN_PROGRESS;
+            case COMPLETED -> BOOKINGS_COMPLETED;
+            case CANCELLED -> BOOKINGS_CANCELLED;
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.StatisticsProperties;
+import fr.petswap.backend.dao.jpa.Booking;
+import fr.petswap.backend.dao.repository.DailyStatsJdbcRepository;
+import fr.petswap.backend.dao.repository.DailyStatsJdbcRepository.Increment;
+import fr.petswap.backend.dto.TimeseriesDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistiques journalières alimentées par les événements des services (inscription, swipe, match, réservation).
+ * Les événements sont cumulés en mémoire par jour et par indicateur, puis ajoutés aux lignes de daily_stats
+ * à intervalle régulier : une série se lit ensuite en une requête bornée par le nombre de jours.
+ */
+@Slf4j
+@Service
+public class StatisticsRollupService {
+
+    private record Bucket(LocalDate day, StatisticsMetric metric) {
+    }
+
+    private final DailyStatsJdbcRepository dailyStatsJdbcRepository;
+    private final int maxDays;
+
+    private final ConcurrentHashMap<Bucket, Double> pending = new ConcurrentHashMap<>();
+
+    public StatisticsRollupService(DailyStatsJdbcRepository dailyStatsJdbcRepository, StatisticsProperties properties) {
+        this.dailyStatsJdbcRepository = dailyStatsJdbcRepository;
+        this.maxDays = properties.rollups().maxDays();
+    }
+
+    public void record(StatisticsMetric metric) {
+        record(metric, 1);
+    }
+
+    /**
+     * Enregistre un événement ; dans une transaction, il n'est compté qu'après le commit
+     */
+    public void record(StatisticsMetric metric, double amount) {
+        if (amount == 0) {
+            return;
+        }
+        Bucket bucket = new Bucket(LocalDate.now(), metric);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(bucket, amount);
+                }
+            });
+        } else {
+            add(bucket, amount);
+        }
+    }
+
+    public void recordBookingStatus(Booking.BookingStatus status, long count) {
+        record(StatisticsMetric.forBookingStatus(status), count);
+    }
+
+    /**
+     * Série journalière d'un indicateur, jours sans activité compris, y compris les événements pas encore écrits
+     */
+    public TimeseriesDto getTimeseries(StatisticsMetric metric, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La date de début doit être antérieure à la date de fin");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("La période ne peut pas dépasser " + maxDays + " jours");
+        }
+
+        Map<LocalDate, Double> values = dailyStatsJdbcRepository.findSeries(metric.key(), from, to);
+        List<TimeseriesDto.Point> points = new ArrayList<>((int) days);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            double value = values.getOrDefault(day, 0.0) + pending.getOrDefault(new Bucket(day, metric), 0.0);
+            points.add(new TimeseriesDto.Point(day, value));
+        }
+        return new TimeseriesDto(metric.key(), from, to, points);
+    }
+
+    @Scheduled(fixedDelayString = "${petswap.statistics.rollups.flush-interval:10s}")
+    public void flush() {
+        List<Increment> increments = new ArrayList<>();
+        // remove() est atomique : un événement arrivé après est conservé pour le prochain passage
+        for (Bucket bucket : pending.keySet()) {
+            Double amount = pending.remove(bucket);
+            if (amount != null && amount != 0) {
+                increments.add(new Increment(bucket.day(), bucket.metric().key(), amount));
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        try {
+            dailyStatsJdbcRepository.increment(increments);
+            log.debug("{} agrégats journaliers mis à jour", increments.size());
+        } catch (RuntimeException e) {
+            // Remis en attente pour le prochain passage plutôt que perdus
+            increments.forEach(increment -> add(
+                    new Bucket(increment.day(), StatisticsMetric.fromKey(increment.metric())), increment.amount()));
+            log.warn("Échec de l'écriture des statistiques journalières, nouvel essai au prochain passage", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void add(Bucket bucket, double amount) {
+        pending.merge(bucket, amount, Double::sum);
+    }
+}
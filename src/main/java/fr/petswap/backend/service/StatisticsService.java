@@ -0,0 +1,95 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.StatisticsProperties;
+import fr.petswap.backend.dao.repository.BookingRepository;
+import fr.petswap.backend.dao.repository.MatchRepository;
+import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dao.repository.ReviewRepository;
+import fr.petswap.backend.dto.StatisticsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Instantané des statistiques publiques, recalculé périodiquement en arrière-plan.
+ * Les requêtes lisent l'instantané courant sans jamais interroger la base.
+ */
+@Slf4j
+@Service
+public class StatisticsService {
+
+    private static final double DEFAULT_RATING = 4.5;
+
+    /**
+     * Statistiques et ETag calculé une fois pour toutes à partir de leur contenu
+     */
+    public record Snapshot(StatisticsDto statistics, String etag, Instant generatedAt) {
+    }
+
+    private final ProfileRepository profileRepository;
+    private final MatchRepository matchRepository;
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
+    private final Duration refreshInterval;
+
+    private volatile Snapshot snapshot;
+
+    public StatisticsService(ProfileRepository profileRepository,
+                             MatchRepository matchRepository,
+                             BookingRepository bookingRepository,
+                             ReviewRepository reviewRepository,
+                             StatisticsProperties properties) {
+        this.profileRepository = profileRepository;
+        this.matchRepository = matchRepository;
+        this.bookingRepository = bookingRepository;
+        this.reviewRepository = reviewRepository;
+        this.refreshInterval = properties.refreshInterval();
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        // Première requête avant le premier rafraîchissement planifié
+        synchronized (this) {
+            return snapshot != null ? snapshot : computeSnapshot();
+        }
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    @Scheduled(fixedDelayString = "${petswap.statistics.refresh-interval:5m}")
+    public void refresh() {
+        try {
+            computeSnapshot();
+        } catch (RuntimeException e) {
+            // On continue de servir l'instantané précédent
+            log.warn("Échec du rafraîchissement des statistiques", e);
+        }
+    }
+
+    private synchronized Snapshot computeSnapshot() {
+        Double averageRating = reviewRepository.getAverageRating();
+        StatisticsDto statistics = new StatisticsDto(
+                profileRepository.count(),
+                matchRepository.count(),
+                bookingRepository.count(),
+                Math.round((averageRating != null ? averageRating : DEFAULT_RATING) * 10.0) / 10.0);
+
+        // Même contenu, même ETag : les caches gardent leur copie tant que les chiffres ne bougent pas
+        int hash = Objects.hash(statistics.getTotalUsers(), statistics.getTotalMatches(),
+                statistics.getTotalBookings(), statistics.getAverageRating());
+        Snapshot fresh = new Snapshot(statistics, "\"" + Integer.toHexString(hash) + "\"", Instant.now());
+        snapshot = fresh;
+        log.debug("Statistiques rafraîchies : {} utilisateurs, {} matchs, {} réservations",
+                statistics.getTotalUsers(), statistics.getTotalMatches(), statistics.getTotalBookings());
+        return fresh;
+    }
+}
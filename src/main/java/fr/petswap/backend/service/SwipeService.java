@@ -2,35 +2,64 @@ package fr.petswap.backend.service;
 
 import fr.petswap.backend.dao.jpa.*;
 import fr.petswap.backend.dao.repository.*;
+import fr.petswap.backend.dto.DiscoverPageDto;
 import fr.petswap.backend.dto.ListingDto;
 import fr.petswap.backend.dto.MatchDto;
+import fr.petswap.backend.dto.SwipeBatchResultDto;
 import fr.petswap.backend.dto.SwipeDto;
 import fr.petswap.backend.dto.SwipeRequest;
 import fr.petswap.backend.exception.UserNotFoundException;
 import fr.petswap.backend.mapper.ListingMapper;
 import fr.petswap.backend.mapper.MatchMapper;
 import fr.petswap.backend.mapper.SwipeMapper;
+import fr.petswap.backend.service.ranking.ListingRanker;
+import fr.petswap.backend.service.ranking.RankingCandidate;
+import fr.petswap.backend.service.ranking.ScoredListing;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SwipeService {
 
+    static final int DEFAULT_DISCOVER_PAGE_SIZE = 20;
+    static final int MAX_DISCOVER_PAGE_SIZE = 50;
+    static final int DISCOVER_SCAN_CHUNK = 200;
+    static final int MAX_DISCOVER_SCAN_CHUNKS = 5;
+    static final int MAX_BATCH_SWIPES = 500;
+
     private final SwipeRepository swipeRepository;
+    private final SwipeJdbcRepository swipeJdbcRepository;
     private final MatchRepository matchRepository;
     private final ListingRepository listingRepository;
     private final ProfileRepository profileRepository;
     private final SwipeMapper swipeMapper;
     private final MatchMapper matchMapper;
     private final ListingMapper listingMapper;
+    private final SwipedListingCache swipedListingCache;
+    private final ListingService listingService;
+    private final ListingRanker listingRanker;
+    private final StatisticsRollupService statisticsRollupService;
 
     /**
      * Un pet sitter swipe sur une annonce (listing)
@@ -50,22 +79,25 @@ public class SwipeService {
             throw new RuntimeException("Vous ne pouvez pas swiper sur votre propre annonce");
         }
 
-        // Vérifier qu'on n'a pas déjà swipé sur cette annonce
-        Optional<Swipe> existingSwipe = swipeRepository.findBySwiperAndListing(swiper, listing);
-        if (existingSwipe.isPresent()) {
-            throw new RuntimeException("Vous avez déjà swipé sur cette annonce");
-        }
+        Swipe.SwipeDirection direction = Swipe.SwipeDirection.valueOf(request.getDirection());
+
+        // Insertion idempotente : un double swipe est rejeté par la contrainte unique (swiper_id, listing_id)
+        SwipeJdbcRepository.InsertedSwipe inserted = swipeJdbcRepository
+                .insertSwipeIfAbsent(swiperId, listing.getId(), direction)
+                .orElseThrow(() -> new RuntimeException("Vous avez déjà swipé sur cette annonce"));
+        swipedListingCache.markSwiped(swiperId, listing.getId());
+        statisticsRollupService.record(StatisticsMetric.SWIPES);
 
-        Swipe swipe = Swipe.builder()
+        Swipe savedSwipe = Swipe.builder()
+                .id(inserted.id())
                 .swiper(swiper)
                 .listing(listing)
-                .direction(Swipe.SwipeDirection.valueOf(request.getDirection()))
+                .direction(direction)
+                .swipedAt(inserted.swipedAt())
                 .build();
 
-        Swipe savedSwipe = swipeRepository.save(swipe);
-
         // Si c'est un LIKE, créer un match (en attente de confirmation du propriétaire)
-        if (Swipe.SwipeDirection.LIKE.equals(savedSwipe.getDirection())) {
+        if (Swipe.SwipeDirection.LIKE.equals(direction)) {
             createPendingMatch(listing, swiper);
         }
 
@@ -73,20 +105,101 @@ public class SwipeService {
         return swipeMapper.toDto(savedSwipe);
     }
 
+    /**
+     * Rejouer un lot de swipes (file hors-ligne du mobile) dans une seule transaction.
+     * Chaque swipe reçoit son propre résultat ; les erreurs unitaires n'interrompent pas le lot.
+     */
+    @Transactional
+    public List<SwipeBatchResultDto> swipeOnListings(UUID swiperId, List<SwipeRequest> requests) {
+        if (requests.size() > MAX_BATCH_SWIPES) {
+            throw new IllegalArgumentException("Un lot ne peut pas dépasser " + MAX_BATCH_SWIPES + " swipes");
+        }
+        log.info("Lot de {} swipes de l'utilisateur {}", requests.size(), swiperId);
+
+        Set<Integer> listingIds = requests.stream()
+                .map(SwipeRequest::getListingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        // Une requête par information nécessaire, quelle que soit la taille du lot ;
+        // les INSERT restent protégés par ON CONFLICT en cas de rejeu concurrent
+        Map<Integer, UUID> ownerByListing = listingRepository.findOwnersByIdIn(listingIds)
+                .stream()
+                .collect(Collectors.toMap(ListingRepository.ListingOwner::getId, ListingRepository.ListingOwner::getOwnerId));
+        Set<Integer> swipedListings = new HashSet<>(swipeRepository.findSwipedListingIdsIn(swiperId, listingIds));
+        Set<Integer> matchedListings = new HashSet<>(matchRepository.findMatchedListingIdsIn(swiperId, listingIds));
+
+        List<SwipeJdbcRepository.SwipeRow> swipesToInsert = new ArrayList<>();
+        SwipeBatchResultDto[] results = new SwipeBatchResultDto[requests.size()];
+        Map<Integer, Integer> resultIndexByListing = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SwipeRequest request = requests.get(i);
+            Integer listingId = request.getListingId();
+            Swipe.SwipeDirection direction = parseDirection(request.getDirection());
+
+            if (listingId == null || direction == null) {
+                results[i] = new SwipeBatchResultDto(listingId, SwipeBatchResultDto.Status.INVALID, "Swipe invalide");
+            } else if (!ownerByListing.containsKey(listingId)) {
+                results[i] = new SwipeBatchResultDto(listingId, SwipeBatchResultDto.Status.NOT_FOUND, "Annonce non trouvée");
+            } else if (ownerByListing.get(listingId).equals(swiperId)) {
+                results[i] = new SwipeBatchResultDto(listingId, SwipeBatchResultDto.Status.OWN_LISTING,
+                        "Vous ne pouvez pas swiper sur votre propre annonce");
+            } else if (!swipedListings.add(listingId)) {
+                results[i] = duplicate(listingId);
+            } else {
+                swipesToInsert.add(new SwipeJdbcRepository.SwipeRow(listingId, direction));
+                resultIndexByListing.put(listingId, i);
+            }
+        }
+
+        // Seules les lignes réellement insérées comptent : un rejeu concurrent a pu swiper entre-temps
+        Set<Integer> insertedListings = swipeJdbcRepository.insertSwipes(swiperId, swipesToInsert);
+        List<Integer> matchesToInsert = new ArrayList<>();
+        for (SwipeJdbcRepository.SwipeRow swipe : swipesToInsert) {
+            Integer listingId = swipe.listingId();
+            int index = resultIndexByListing.get(listingId);
+            if (!insertedListings.contains(listingId)) {
+                results[index] = duplicate(listingId);
+                continue;
+            }
+            results[index] = new SwipeBatchResultDto(listingId, SwipeBatchResultDto.Status.CREATED, null);
+            swipedListingCache.markSwiped(swiperId, listingId);
+            if (swipe.direction() == Swipe.SwipeDirection.LIKE && !matchedListings.contains(listingId)) {
+                matchesToInsert.add(listingId);
+            }
+        }
+
+        int insertedMatches = swipeJdbcRepository.insertPendingMatches(swiperId, matchesToInsert);
+        statisticsRollupService.record(StatisticsMetric.SWIPES, insertedListings.size());
+        statisticsRollupService.record(StatisticsMetric.MATCHES, insertedMatches);
+
+        log.info("Lot traité : {} swipes et {} matches en attente créés", insertedListings.size(), insertedMatches);
+        return List.of(results);
+    }
+
+    private static SwipeBatchResultDto duplicate(Integer listingId) {
+        return new SwipeBatchResultDto(listingId, SwipeBatchResultDto.Status.DUPLICATE, "Vous avez déjà swipé sur cette annonce");
+    }
+
+    private static Swipe.SwipeDirection parseDirection(String direction) {
+        if (direction == null) {
+            return null;
+        }
+        try {
+            return Swipe.SwipeDirection.valueOf(direction);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Créer un match en attente (pet sitter a liké, propriétaire doit confirmer)
      */
     private void createPendingMatch(Listing listing, Profile petSitter) {
-        // Vérifier qu'il n'y a pas déjà un match
-        Optional<Match> existingMatch = matchRepository.findByListingAndPetSitter(listing, petSitter);
-        if (existingMatch.isEmpty()) {
-            Match match = Match.builder()
-                    .listing(listing)
-                    .petSitter(petSitter)
-                    .ownerLikedBack(false)
-                    .build();
-
-            matchRepository.save(match);
+        // Le match existant éventuel est détecté par la contrainte unique (listing_id, pet_sitter_id)
+        if (swipeJdbcRepository.insertPendingMatchIfAbsent(petSitter.getId(), listing.getId())) {
+            statisticsRollupService.record(StatisticsMetric.MATCHES);
             log.info("Match en attente créé entre {} et l'annonce {}", petSitter.getUsername(), listing.getId());
         }
     }
@@ -106,19 +219,21 @@ public class SwipeService {
             throw new RuntimeException("Vous n'êtes pas le propriétaire de cette annonce");
         }
 
-        if (accept) {
-            match.setOwnerLikedBack(true);
-            // Ne plus changer le statut de l'annonce ici - elle reste ACTIVE
-            // Le statut changera seulement quand une réservation sera confirmée
-        } else {
+        if (!accept) {
             // Si rejeté, supprimer le match
             matchRepository.delete(match);
             return null;
         }
 
-        Match savedMatch = matchRepository.save(match);
-        log.info("Match {} confirmé - L'annonce reste disponible pour d'autres matches", savedMatch.getId());
-        return matchMapper.toDto(savedMatch);
+        // Ne plus changer le statut de l'annonce ici - elle reste ACTIVE
+        // Le statut changera seulement quand une réservation sera confirmée
+        // Seule la première confirmation compte : une réponse répétée ne doit pas gonfler les statistiques
+        if (matchRepository.confirmByOwner(matchId) > 0) {
+            statisticsRollupService.record(StatisticsMetric.MATCHES_CONFIRMED);
+            log.info("Match {} confirmé - L'annonce reste disponible pour d'autres matches", matchId);
+        }
+        match.setOwnerLikedBack(true);
+        return matchMapper.toDto(match);
     }
 
     /**
@@ -131,6 +246,168 @@ public class SwipeService {
                 .toList();
     }
 
+    /**
+     * Récupérer une page d'annonces non swipées à partir d'un curseur opaque
+     */
+    public DiscoverPageDto getUnswipedListingsPage(UUID userId, String cursor, Integer size) {
+        int pageSize = discoverPageSize(size);
+        int afterId = decodeCursor(cursor);
+
+        // On demande un élément de plus pour savoir s'il existe une page suivante
+        List<Integer> candidateIds = findUnswipedListingIds(userId, afterId, pageSize + 1);
+
+        boolean hasMore = candidateIds.size() > pageSize;
+        List<Integer> pageIds = hasMore ? candidateIds.subList(0, pageSize) : candidateIds;
+
+        List<ListingDto> listings = listingRepository.findAllById(pageIds)
+                .stream()
+                .sorted(Comparator.comparing(Listing::getId))
+                .map(listingMapper::toDto)
+                .toList();
+        String nextCursor = hasMore ? encodeCursor(pageIds.get(pageIds.size() - 1)) : null;
+        return new DiscoverPageDto(listings, nextCursor);
+    }
+
+    /**
+     * Récupérer les annonces non swipées les plus pertinentes pour le pet-sitter.
+     * Les candidats (autour du point si fourni, sinon les annonces actives les plus récentes) sont lus
+     * par projection et évalués par le ListingRanker ; seules les annonces retenues sont chargées.
+     */
+    public List<ListingDto> getRankedListings(UUID userId, Double latitude, Double longitude, Double radiusKm,
+                                              LocalDate availableFrom, LocalDate availableTo, Integer size) {
+        if (availableFrom != null && availableTo != null && availableTo.isBefore(availableFrom)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
+        }
+        int limit = discoverPageSize(size);
+        int maxCandidates = listingRanker.maxCandidates();
+
+        List<RankingCandidate> candidates;
+        if (latitude != null && longitude != null) {
+            List<Integer> candidateIds = listingService.findNearbyUnswipedListings(userId, latitude, longitude, radiusKm, null, maxCandidates)
+                    .stream()
+                    .map(ListingService.NearbyListing::listingId)
+                    .toList();
+            candidates = listingRepository.findActiveRankingCandidatesByIdIn(candidateIds);
+        } else {
+            candidates = listingRepository.findNewestRankingCandidates(userId, Limit.of(maxCandidates));
+        }
+
+        List<ScoredListing> ranked = listingRanker.rank(candidates, latitude, longitude, availableFrom, availableTo, limit);
+        Map<Integer, Listing> listings = listingRepository.findAllById(ranked.stream().map(scored -> scored.listing().getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(Listing::getId, Function.identity()));
+        return ranked.stream()
+                .filter(scored -> listings.containsKey(scored.listing().getId()))
+                .map(scored -> {
+                    ListingDto dto = listingMapper.toDto(listings.get(scored.listing().getId()));
+                    dto.setScore(scored.score());
+                    return dto;
+                })
+                .toList();
+    }
+
+    /**
+     * Récupérer une page d'annonces non swipées autour d'un point, de la plus proche à la plus lointaine.
+     * Le curseur porte le couple (distance, identifiant) de la dernière annonce renvoyée.
+     */
+    public DiscoverPageDto getNearbyUnswipedListingsPage(UUID userId, double latitude, double longitude,
+                                                        Double radiusKm, String cursor, Integer size) {
+        int pageSize = discoverPageSize(size);
+        ListingService.NearbyListing after = decodeNearbyCursor(cursor);
+
+        // On demande un élément de plus pour savoir s'il existe une page suivante
+        List<ListingService.NearbyListing> candidates =
+                listingService.findNearbyUnswipedListings(userId, latitude, longitude, radiusKm, after, pageSize + 1);
+
+        boolean hasMore = candidates.size() > pageSize;
+        List<ListingService.NearbyListing> page = hasMore ? candidates.subList(0, pageSize) : candidates;
+
+        Map<Integer, Listing> listings = listingRepository.findAllById(page.stream().map(ListingService.NearbyListing::listingId).toList())
+                .stream()
+                .collect(Collectors.toMap(Listing::getId, Function.identity()));
+        List<ListingDto> dtos = page.stream()
+                .filter(candidate -> listings.containsKey(candidate.listingId()))
+                .map(candidate -> {
+                    ListingDto dto = listingMapper.toDto(listings.get(candidate.listingId()));
+                    dto.setDistanceKm(candidate.distanceKm());
+                    return dto;
+                })
+                .toList();
+
+        String nextCursor = hasMore ? encodeNearbyCursor(page.get(page.size() - 1)) : null;
+        return new DiscoverPageDto(dtos, nextCursor);
+    }
+
+    private static int discoverPageSize(Integer size) {
+        return size == null ? DEFAULT_DISCOVER_PAGE_SIZE : Math.clamp(size, 1, MAX_DISCOVER_PAGE_SIZE);
+    }
+
+    /**
+     * Parcourt les identifiants d'annonces actives par blocs, après afterId, en écartant en mémoire
+     * celles déjà swipées. S'arrête dès que count identifiants sont trouvés ; au-delà de
+     * MAX_DISCOVER_SCAN_CHUNKS blocs (utilisateur qui a presque tout swipé), le reste est demandé
+     * à l'anti-jointure en base.
+     */
+    List<Integer> findUnswipedListingIds(UUID userId, int afterId, int count) {
+        IntPredicate swiped = swipedListingCache.getSwipedFilter(userId);
+        List<Integer> candidateIds = new ArrayList<>(count);
+        int scanFrom = afterId;
+        for (int chunk = 0; candidateIds.size() < count; chunk++) {
+            if (chunk == MAX_DISCOVER_SCAN_CHUNKS) {
+                candidateIds.addAll(swipeRepository.findUnswipedListingIdsAfter(userId, scanFrom, count - candidateIds.size()));
+                break;
+            }
+            List<Integer> ids = listingRepository.findActiveListingIdsAfter(userId, scanFrom, Limit.of(DISCOVER_SCAN_CHUNK));
+            for (Integer id : ids) {
+                if (swiped.test(id)) {
+                    continue;
+                }
+                candidateIds.add(id);
+                if (candidateIds.size() == count) {
+                    break;
+                }
+            }
+            if (ids.size() < DISCOVER_SCAN_CHUNK) {
+                break;
+            }
+            scanFrom = ids.get(ids.size() - 1);
+        }
+        return candidateIds;
+    }
+
+    static String encodeCursor(int listingId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(listingId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+    }
+
+    static String encodeNearbyCursor(ListingService.NearbyListing last) {
+        String payload = last.distanceKm() + ":" + last.listingId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ListingService.NearbyListing decodeNearbyCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new ListingService.NearbyListing(Integer.parseInt(parts[1]), Double.parseDouble(parts[0]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+    }
+
     /**
      * Récupérer tous les matches d'un utilisateur (confirmés et en attente)
      */
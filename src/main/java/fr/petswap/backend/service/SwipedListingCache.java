@@ -0,0 +1,230 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import fr.petswap.backend.dao.repository.SwipeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Cache en mémoire des annonces déjà swipées, sous forme d'un bitmap compressé (Roaring) par utilisateur,
+ * indexé par listing_id : sa taille suit le nombre de swipes et non le plus grand identifiant d'annonce.
+ * Les entrées sont chargées à la demande, complétées à chaque swipe commité et évincées par LRU
+ * dès que le nombre d'entrées ou le budget mémoire est dépassé.
+ */
+@Slf4j
+@Component
+public class SwipedListingCache {
+
+    private static final String METRIC_PREFIX = "petswap.swiped_listings.cache";
+    // Coût approximatif d'une entrée hors conteneurs du bitmap (clé, noeud de la map, en-têtes)
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final SwipeRepository swipeRepository;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Le verrou du cache protège la map, l'ordre LRU et la comptabilité mémoire ;
+    // chaque bitmap est modifié sur place sous le verrou de son entrée
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    // Chargements en cours : les swipes commités pendant la lecture en base y sont reportés
+    private final Map<UUID, PendingLoad> pendingLoads = new HashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public SwipedListingCache(SwipeRepository swipeRepository,
+                              DiscoverProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.swipeRepository = swipeRepository;
+        this.maxEntries = properties.swipedCache().maxEntries();
+        this.maxBytes = properties.swipedCache().maxBytes();
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder(METRIC_PREFIX + ".evictions").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, SwipedListingCache::size).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".bytes", this, SwipedListingCache::usedBytes).register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private final RoaringBitmap swiped;
+        // Taille prise en compte dans usedBytes, lue et écrite sous le verrou du cache
+        private long accountedBytes;
+
+        private Entry(RoaringBitmap swiped) {
+            this.swiped = swiped;
+        }
+
+        private synchronized boolean contains(int listingId) {
+            return swiped.contains(listingId);
+        }
+
+        /**
+         * Ajoute le swipe et renvoie la nouvelle taille du bitmap, ou -1 s'il y figurait déjà
+         */
+        private synchronized long add(int listingId) {
+            return swiped.checkedAdd(listingId) ? sizeOf(swiped) : -1;
+        }
+    }
+
+    private static final class PendingLoad {
+        private int loaders;
+        private final RoaringBitmap swipedMeanwhile = new RoaringBitmap();
+    }
+
+    /**
+     * Retourne un filtre indiquant si l'utilisateur a déjà swipé une annonce
+     * (il voit aussi les swipes commités après sa création)
+     */
+    public IntPredicate getSwipedFilter(UUID userId) {
+        Entry entry;
+        PendingLoad pending = null;
+        synchronized (this) {
+            entry = entries.get(userId);
+            if (entry == null) {
+                pending = pendingLoads.computeIfAbsent(userId, id -> new PendingLoad());
+                pending.loaders++;
+            }
+        }
+
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Chargement hors verrou pour ne pas bloquer les autres utilisateurs pendant la requête
+            RoaringBitmap loaded = null;
+            try {
+                loaded = load(userId);
+            } finally {
+                entry = complete(userId, pending, loaded);
+            }
+        }
+
+        return entry::contains;
+    }
+
+    /**
+     * Ajoute un swipe à l'entrée de l'utilisateur une fois la transaction en cours commitée :
+     * le cache ne doit jamais contenir un swipe annulé par un rollback
+     */
+    public void markSwiped(UUID userId, int listingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applySwipe(userId, listingId);
+                }
+            });
+        } else {
+            applySwipe(userId, listingId);
+        }
+    }
+
+    private void applySwipe(UUID userId, int listingId) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(userId);
+            if (entry == null) {
+                // Un chargement en cours a pu lire la base avant ce commit : le swipe lui est transmis
+                PendingLoad pending = pendingLoads.get(userId);
+                if (pending != null) {
+                    pending.swipedMeanwhile.add(listingId);
+                }
+                return;
+            }
+        }
+
+        long bytes = entry.add(listingId);
+        if (bytes < 0) {
+            return;
+        }
+        synchronized (this) {
+            // L'entrée a pu être évincée pendant l'ajout : elle ne compte alors plus dans le budget
+            if (entries.get(userId) == entry) {
+                usedBytes += bytes - entry.accountedBytes;
+                entry.accountedBytes = bytes;
+                evictIfNeeded();
+            }
+        }
+    }
+
+    public synchronized void invalidate(UUID userId) {
+        Entry removed = entries.remove(userId);
+        if (removed != null) {
+            usedBytes -= removed.accountedBytes;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private RoaringBitmap load(UUID userId) {
+        RoaringBitmap swiped = new RoaringBitmap();
+        for (Integer listingId : swipeRepository.findSwipedListingIds(userId)) {
+            swiped.add(listingId);
+        }
+        // Les plages d'identifiants consécutifs sont encodées en runs
+        swiped.runOptimize();
+        log.debug("Chargement de {} swipes en cache pour l'utilisateur {}", swiped.getCardinality(), userId);
+        return swiped;
+    }
+
+    /**
+     * Termine un chargement : complète le bitmap lu en base avec les swipes commités entre-temps,
+     * puis l'installe sauf si un autre chargement l'a précédé (loaded est null si la lecture a échoué)
+     */
+    private synchronized Entry complete(UUID userId, PendingLoad pending, RoaringBitmap loaded) {
+        if (--pending.loaders == 0) {
+            pendingLoads.remove(userId);
+        }
+        if (loaded == null) {
+            return null;
+        }
+
+        Entry existing = entries.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+
+        loaded.or(pending.swipedMeanwhile);
+        Entry entry = new Entry(loaded);
+        entry.accountedBytes = sizeOf(loaded);
+        entries.put(userId, entry);
+        usedBytes += entry.accountedBytes;
+        evictIfNeeded();
+        return entry;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<UUID, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || usedBytes > maxBytes) && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().accountedBytes;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static long sizeOf(RoaringBitmap bits) {
+        return ENTRY_OVERHEAD_BYTES + bits.getLongSizeInBytes();
+    }
+}
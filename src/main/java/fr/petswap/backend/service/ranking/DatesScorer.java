@@ -0,0 +1,29 @@
+package fr.petswap.backend.service.ranking;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Part de la période de garde couverte par les disponibilités du pet-sitter
+ */
+@Component
+public class DatesScorer implements ListingScorer {
+
+    @Override
+    public String name() {
+        return "dates";
+    }
+
+    @Override
+    public double score(RankingCandidate listing, RankingContext context) {
+        if (!context.hasAvailability() || listing.getStartDate() == null || listing.getEndDate() == null) {
+            return 0;
+        }
+        long listingDays = listing.getEndDate().toEpochDay() - listing.getStartDate().toEpochDay() + 1;
+        long overlapStart = Math.max(listing.getStartDate().toEpochDay(), context.availableFrom().toEpochDay());
+        long overlapEnd = Math.min(listing.getEndDate().toEpochDay(), context.availableTo().toEpochDay());
+        if (listingDays <= 0 || overlapEnd < overlapStart) {
+            return 0;
+        }
+        return (double) (overlapEnd - overlapStart + 1) / listingDays;
+    }
+}
@@ -0,0 +1,28 @@
+package fr.petswap.backend.service.ranking;
+
+import fr.petswap.backend.service.GeoGrid;
+import org.springframework.stereotype.Component;
+
+/**
+ * Favorise les annonces proches du pet-sitter (score 0,5 à 10 km)
+ */
+@Component
+public class DistanceScorer implements ListingScorer {
+
+    private static final double HALF_SCORE_KM = 10;
+
+    @Override
+    public String name() {
+        return "distance";
+    }
+
+    @Override
+    public double score(RankingCandidate listing, RankingContext context) {
+        if (!context.hasPosition() || listing.getLatitude() == null || listing.getLongitude() == null) {
+            return 0;
+        }
+        double distance = GeoGrid.distanceKm(context.latitude(), context.longitude(),
+                listing.getLatitude(), listing.getLongitude());
+        return 1 / (1 + distance / HALF_SCORE_KM);
+    }
+}
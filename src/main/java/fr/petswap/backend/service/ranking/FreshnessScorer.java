@@ -0,0 +1,28 @@
+package fr.petswap.backend.service.ranking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Favorise les annonces récentes : le score est divisé par deux chaque semaine
+ */
+@Component
+public class FreshnessScorer implements ListingScorer {
+
+    private static final double HALF_LIFE_HOURS = Duration.ofDays(7).toHours();
+
+    @Override
+    public String name() {
+        return "freshness";
+    }
+
+    @Override
+    public double score(RankingCandidate listing, RankingContext context) {
+        if (listing.getCreatedAt() == null) {
+            return 0;
+        }
+        double ageHours = Math.max(0, Duration.between(listing.getCreatedAt(), context.now()).toMinutes() / 60.0);
+        return Math.pow(0.5, ageHours / HALF_LIFE_HOURS);
+    }
+}
@@ -0,0 +1,78 @@
+package fr.petswap.backend.service.ranking;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Classe les annonces candidates par somme pondérée des scores de chaque {@link ListingScorer}
+ * et ne conserve que les meilleures.
+ */
+@Slf4j
+@Component
+public class ListingRanker {
+
+    private final ListingScorer[] scorers;
+    private final double[] weights;
+    private final int maxCandidates;
+
+    public ListingRanker(List<ListingScorer> scorers, DiscoverProperties properties) {
+        DiscoverProperties.Ranking ranking = properties.ranking();
+        Map<String, Double> configuredWeights = ranking.weights() == null ? Map.of() : ranking.weights();
+
+        List<ListingScorer> enabled = new ArrayList<>();
+        List<Double> enabledWeights = new ArrayList<>();
+        for (ListingScorer scorer : scorers) {
+            double weight = configuredWeights.getOrDefault(scorer.name(), 1.0);
+            if (weight > 0) {
+                enabled.add(scorer);
+                enabledWeights.add(weight);
+            }
+        }
+        this.scorers = enabled.toArray(ListingScorer[]::new);
+        this.weights = enabledWeights.stream().mapToDouble(Double::doubleValue).toArray();
+        this.maxCandidates = ranking.maxCandidates();
+        log.info("Classement des annonces : critères {} avec poids {}",
+                enabled.stream().map(ListingScorer::name).toList(), enabledWeights);
+    }
+
+    /**
+     * Nombre maximal d'annonces candidates à fournir pour un classement
+     */
+    public int maxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * Retourne les {@code limit} meilleures annonces, de la meilleure à la moins bonne
+     */
+    public List<ScoredListing> rank(Collection<? extends RankingCandidate> candidates, Double latitude, Double longitude,
+                                    LocalDate availableFrom, LocalDate availableTo, int limit) {
+        double maxPrice = candidates.stream()
+                .map(RankingCandidate::getPricePerDay)
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .max()
+                .orElse(0);
+        RankingContext context = new RankingContext(latitude, longitude, availableFrom, availableTo, maxPrice, Instant.now());
+
+        List<ScoredListing> scored = candidates.stream().map(listing -> score(listing, context)).toList();
+        return TopK.select(scored, ScoredListing.ASCENDING, limit);
+    }
+
+    ScoredListing score(RankingCandidate listing, RankingContext context) {
+        double total = 0;
+        for (int i = 0; i < scorers.length; i++) {
+            total += weights[i] * scorers[i].score(listing, context);
+        }
+        return new ScoredListing(listing, total);
+    }
+}
@@ -0,0 +1,18 @@
+package fr.petswap.backend.service.ranking;
+
+/**
+ * Critère de classement des annonces proposées à un pet-sitter.
+ * Chaque implémentation déclarée comme bean Spring est automatiquement prise en compte par {@link ListingRanker}.
+ */
+public interface ListingScorer {
+
+    /**
+     * Nom du critère, utilisé comme clé dans petswap.discover.ranking.weights
+     */
+    String name();
+
+    /**
+     * Score de l'annonce entre 0 (défavorable ou non applicable) et 1 (idéal)
+     */
+    double score(RankingCandidate listing, RankingContext context);
+}
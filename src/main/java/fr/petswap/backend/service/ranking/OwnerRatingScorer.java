@@ -0,0 +1,25 @@
+package fr.petswap.backend.service.ranking;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Note moyenne du propriétaire, sur 5
+ */
+@Component
+public class OwnerRatingScorer implements ListingScorer {
+
+    private static final double MAX_RATING = 5;
+
+    @Override
+    public String name() {
+        return "owner-rating";
+    }
+
+    @Override
+    public double score(RankingCandidate listing, RankingContext context) {
+        if (listing.getOwnerRating() == null) {
+            return 0;
+        }
+        return Math.clamp(listing.getOwnerRating() / MAX_RATING, 0, 1);
+    }
+}
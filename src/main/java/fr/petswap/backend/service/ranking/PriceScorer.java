@@ -0,0 +1,23 @@
+package fr.petswap.backend.service.ranking;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Rémunération journalière rapportée à la plus élevée des annonces candidates
+ */
+@Component
+public class PriceScorer implements ListingScorer {
+
+    @Override
+    public String name() {
+        return "price";
+    }
+
+    @Override
+    public double score(RankingCandidate listing, RankingContext context) {
+        if (listing.getPricePerDay() == null || context.maxPricePerDay() <= 0) {
+            return 0;
+        }
+        return Math.max(0, listing.getPricePerDay()) / context.maxPricePerDay();
+    }
+}
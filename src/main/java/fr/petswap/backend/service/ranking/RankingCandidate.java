@@ -0,0 +1,19 @@
+package fr.petswap.backend.service.ranking;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'une annonce utiles au classement, lues par projection plutôt qu'en chargeant
+ * l'entité Listing avec son propriétaire et son animal
+ */
+public interface RankingCandidate {
+    Integer getId();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+    Double getPricePerDay();
+    Double getLatitude();
+    Double getLongitude();
+    Instant getCreatedAt();
+    Float getOwnerRating();
+}
@@ -0,0 +1,25 @@
+package fr.petswap.backend.service.ranking;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Données communes à tous les critères pour un classement donné.
+ * Position et disponibilités du pet-sitter sont optionnelles : un critère sans donnée renvoie 0.
+ */
+public record RankingContext(
+        Double latitude,
+        Double longitude,
+        LocalDate availableFrom,
+        LocalDate availableTo,
+        double maxPricePerDay,
+        Instant now) {
+
+    public boolean hasPosition() {
+        return latitude != null && longitude != null;
+    }
+
+    public boolean hasAvailability() {
+        return availableFrom != null && availableTo != null;
+    }
+}
@@ -0,0 +1,12 @@
+package fr.petswap.backend.service.ranking;
+
+import java.util.Comparator;
+
+public record ScoredListing(RankingCandidate listing, double score) {
+
+    /**
+     * Du moins bon au meilleur ; à score égal, l'annonce la plus ancienne (plus petit identifiant) l'emporte
+     */
+    static final Comparator<ScoredListing> ASCENDING = Comparator.comparingDouble(ScoredListing::score)
+            .thenComparing(scored -> scored.listing().getId(), Comparator.reverseOrder());
+}
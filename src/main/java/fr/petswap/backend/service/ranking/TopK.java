@@ -0,0 +1,38 @@
+package fr.petswap.backend.service.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sélection des k meilleurs éléments avec un tas borné : O(n log k) au lieu d'un tri complet en O(n log n)
+ */
+final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Retourne les k plus grands éléments selon le comparateur, du meilleur au moins bon
+     */
+    static <T> List<T> select(Iterable<T> items, Comparator<? super T> comparator, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // Tas min : la tête est le moins bon des k retenus
+        PriorityQueue<T> heap = new PriorityQueue<>(k, comparator);
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+
+        List<T> best = new ArrayList<>(heap);
+        best.sort(comparator.reversed());
+        return best;
+    }
+}
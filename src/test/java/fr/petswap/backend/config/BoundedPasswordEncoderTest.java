@@ -0,0 +1,90 @@
+package fr.petswap.backend.config;
+
+import fr.petswap.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    // Encodeur qui bloque jusqu'à ce que le test le libère
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(slowEncoder,
+                new AuthProperties.PasswordHashing(1, 1, Duration.ofSeconds(5)), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void encode_ShouldDelegateOnDedicatedPool() {
+        // Given
+        release.countDown();
+
+        // When
+        String hash = encoder.encode("secret");
+
+        // Then
+        assertThat(hash).isEqualTo("hash:secret");
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(meterRegistry.get("petswap.password_hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("petswap.password_hashing.duration").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void encode_ShouldRejectImmediately_WhenPoolAndQueueAreFull() throws Exception {
+        // Given : un hachage en cours et un en file d'attente
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (meterRegistry.get("petswap.password_hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("petswap.password_hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+    }
+}
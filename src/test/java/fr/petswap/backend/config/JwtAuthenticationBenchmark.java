@@ -0,0 +1,96 @@
+package fr.petswap.backend.config;
+
+import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.dao.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Coût par requête de la vérification du token et de la construction de l'utilisateur authentifié.
+ * Le mode strict est mesuré avec un cache chaud (le coût d'une lecture en base n'est pas inclus).
+ * La liste de révocation contient 100 000 tokens ; le token vérifié n'en fait pas partie.
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private JwtAuthenticationFilter claimsFilter;
+    private JwtAuthenticationFilter strictFilter;
+    private TokenRevocationList revocationList;
+    private String token;
+    private UUID validTokenId;
+
+    @Setup
+    public void setUp() {
+        Auth0JwtService jwtService = new Auth0JwtService();
+        Profile profile = Profile.builder()
+                .id(UUID.randomUUID())
+                .username("benchmark")
+                .role(Profile.Role.PET_SITTER)
+                .build();
+        token = jwtService.generateToken(profile);
+
+        AuthProperties.PrincipalCache cacheProperties = new AuthProperties.PrincipalCache(10_000, Duration.ofHours(1));
+        PrincipalCache principalCache = new PrincipalCache(new AuthProperties(true, cacheProperties, null, null), new SimpleMeterRegistry());
+        principalCache.get(profile.getId(),
+                id -> Optional.of(new AuthenticatedUser(id, profile.getUsername(), profile.getRole())));
+
+        AuthProperties.Tokens tokens = new AuthProperties.Tokens(
+                Duration.ofMinutes(15), Duration.ofDays(30), 100_000, 0.001, Duration.ofMinutes(1));
+        List<UUID> revoked = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            revoked.add(UUID.randomUUID());
+        }
+        RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.findActiveTokenIds(any(Instant.class))).thenReturn(revoked);
+        revocationList = new TokenRevocationList(revokedTokenRepository,
+                new AuthProperties(false, cacheProperties, null, tokens), new SimpleMeterRegistry());
+        revocationList.reload();
+        validTokenId = UUID.randomUUID();
+
+        claimsFilter = new JwtAuthenticationFilter(jwtService, null, principalCache,
+                new AuthProperties(false, cacheProperties, null, tokens), revocationList);
+        strictFilter = new JwtAuthenticationFilter(jwtService, null, principalCache,
+                new AuthProperties(true, cacheProperties, null, tokens), revocationList);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyAndBuildFromClaims() {
+        return claimsFilter.authenticate(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyAndReadCachedPrincipal() {
+        return strictFilter.authenticate(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean revocationCheck() {
+        return revocationList.isRevoked(validTokenId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,130 @@
+package fr.petswap.backend.config;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.dao.repository.ProfileRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private final Auth0JwtService jwtService = new Auth0JwtService();
+    private Profile profile;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        profile = Profile.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .role(Profile.Role.PET_SITTER)
+                .build();
+        token = jwtService.generateToken(profile);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtAuthenticationFilter filter(boolean strict) {
+        return new JwtAuthenticationFilter(jwtService, profileRepository, principalCache,
+                new AuthProperties(strict, null, null, null), tokenRevocationList);
+    }
+
+    @Test
+    void authenticate_ShouldBuildPrincipalFromClaims_WithoutDatabaseAccess() {
+        // When
+        AuthenticatedUser user = filter(false).authenticate(token);
+
+        // Then
+        assertThat(user).isEqualTo(new AuthenticatedUser(profile.getId(), "testuser", Profile.Role.PET_SITTER));
+        verifyNoInteractions(profileRepository, principalCache);
+    }
+
+    @Test
+    void authenticate_ShouldReadPrincipalThroughCache_WhenStrict() {
+        // Given
+        AuthenticatedUser renamed = new AuthenticatedUser(profile.getId(), "renamed", Profile.Role.OWNER);
+        when(principalCache.get(eq(profile.getId()), any())).thenReturn(Optional.of(renamed));
+
+        // When
+        AuthenticatedUser user = filter(true).authenticate(token);
+
+        // Then
+        assertThat(user).isEqualTo(renamed);
+    }
+
+    @Test
+    void authenticate_ShouldRejectRevokedToken() {
+        // Given
+        String tokenId = jwtService.verifyToken(token).getId();
+        when(tokenRevocationList.isRevoked(UUID.fromString(tokenId))).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> filter(false).authenticate(token))
+                .isInstanceOf(JWTVerificationException.class)
+                .hasMessage("Token révoqué");
+        verifyNoInteractions(profileRepository, principalCache);
+    }
+
+    @Test
+    void doFilter_ShouldContinueUnauthenticated_WhenTokenRevoked() throws Exception {
+        // Given
+        when(tokenRevocationList.isRevoked(any())).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/refresh");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter(false).doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void entryPoint_ShouldAnswerUnauthorized() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        new JwtAuthenticationEntryPoint(new ObjectMapper()).commence(
+                new MockHttpServletRequest("GET", "/api/auth/me"), response, new InsufficientAuthenticationException("Token absent"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader("WWW-Authenticate")).isEqualTo("Bearer");
+        assertThat(response.getContentAsString()).contains("\"status\":401");
+    }
+}
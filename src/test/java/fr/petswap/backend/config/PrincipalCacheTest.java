@@ -0,0 +1,117 @@
+package fr.petswap.backend.config;
+
+import fr.petswap.backend.dao.jpa.Profile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+
+    private final Function<UUID, Optional<AuthenticatedUser>> loader = id -> {
+        loads.incrementAndGet();
+        return Optional.of(new AuthenticatedUser(id, "user-" + loads.get(), Profile.Role.OWNER));
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(
+                new AuthProperties(false, new AuthProperties.PrincipalCache(2, Duration.ofMinutes(5)), null, null),
+                meterRegistry, now::get);
+    }
+
+    @Test
+    void get_ShouldLoadOnce_ThenServeFromCache() {
+        // Given
+        UUID userId = UUID.randomUUID();
+
+        // When
+        principalCache.get(userId, loader);
+        Optional<AuthenticatedUser> cached = principalCache.get(userId, loader);
+
+        // Then
+        assertThat(cached).map(AuthenticatedUser::username).contains("user-1");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("petswap.principal.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("petswap.principal.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldReload_WhenEntryExpiredOrInvalidated() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        principalCache.get(userId, loader);
+
+        // When
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        principalCache.get(userId, loader);
+        principalCache.invalidate(userId);
+        Optional<AuthenticatedUser> reloaded = principalCache.get(userId, loader);
+
+        // Then
+        assertThat(reloaded).map(AuthenticatedUser::username).contains("user-3");
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        principalCache.get(first, loader);
+        principalCache.get(second, loader);
+        principalCache.get(first, loader);
+
+        // When
+        principalCache.get(UUID.randomUUID(), loader);
+        principalCache.get(second, loader);
+
+        // Then
+        assertThat(principalCache.size()).isEqualTo(2);
+        assertThat(loads).hasValue(4);
+        assertThat(meterRegistry.get("petswap.principal.cache.evictions").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void get_ShouldNotCache_WhenUserDoesNotExist() {
+        // When
+        Optional<AuthenticatedUser> user = principalCache.get(UUID.randomUUID(), id -> Optional.empty());
+
+        // Then
+        assertThat(user).isEmpty();
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    void get_ShouldNotCacheStaleUser_WhenInvalidatedDuringLoad() {
+        // Given : la mise à jour du profil est commitée pendant la lecture de l'ancienne version
+        UUID userId = UUID.randomUUID();
+        Function<UUID, Optional<AuthenticatedUser>> staleLoader = id -> {
+            principalCache.invalidate(id);
+            return Optional.of(new AuthenticatedUser(id, "ancien-nom", Profile.Role.OWNER));
+        };
+
+        // When
+        Optional<AuthenticatedUser> stale = principalCache.get(userId, staleLoader);
+        Optional<AuthenticatedUser> reloaded = principalCache.get(userId, loader);
+
+        // Then
+        assertThat(stale).map(AuthenticatedUser::username).contains("ancien-nom");
+        assertThat(reloaded).map(AuthenticatedUser::username).contains("user-1");
+        assertThat(principalCache.get(userId, loader)).map(AuthenticatedUser::username).contains("user-1");
+        assertThat(loads).hasValue(1);
+    }
+}
@@ -0,0 +1,130 @@
+package fr.petswap.backend.config;
+
+import fr.petswap.backend.dao.jpa.RevokedToken;
+import fr.petswap.backend.dao.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        AuthProperties.Tokens tokens = new AuthProperties.Tokens(
+                Duration.ofMinutes(15), Duration.ofDays(30), 1000, 0.001, Duration.ofMinutes(1));
+        revocationList = new TokenRevocationList(revokedTokenRepository,
+                new AuthProperties(false, null, null, tokens), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isRevoked_ShouldAnswerFromFilter_WithoutDatabaseAccess() {
+        // Given
+        UUID revoked = UUID.randomUUID();
+        when(revokedTokenRepository.findActiveTokenIds(any(Instant.class))).thenReturn(List.of(revoked));
+        revocationList.reload();
+
+        // When
+        boolean result = revocationList.isRevoked(UUID.randomUUID());
+
+        // Then
+        assertThat(result).isFalse();
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void isRevoked_ShouldConfirmInDatabase_WhenFilterMatches() {
+        // Given
+        UUID revoked = UUID.randomUUID();
+        when(revokedTokenRepository.findActiveTokenIds(any(Instant.class))).thenReturn(List.of(revoked));
+        when(revokedTokenRepository.existsById(revoked)).thenReturn(true);
+        revocationList.reload();
+
+        // When & Then
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+    }
+
+    @Test
+    void isRevoked_ShouldCheckDatabase_BeforeFirstLoad() {
+        // Given
+        UUID tokenId = UUID.randomUUID();
+
+        // When
+        revocationList.isRevoked(tokenId);
+
+        // Then
+        verify(revokedTokenRepository).existsById(tokenId);
+    }
+
+    @Test
+    void revoke_ShouldBeVisibleImmediately_AndSurviveReload() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenIds(any(Instant.class))).thenReturn(List.of());
+        revocationList.reload();
+        UUID tokenId = UUID.randomUUID();
+        when(revokedTokenRepository.existsById(tokenId)).thenReturn(true);
+
+        // When
+        revocationList.revoke(tokenId, Instant.now().plus(Duration.ofMinutes(10)));
+        boolean beforeReload = revocationList.isRevoked(tokenId);
+        // La table relue ne contient pas encore la révocation (transaction non visible au moment de la lecture)
+        revocationList.reload();
+        boolean afterReload = revocationList.isRevoked(tokenId);
+
+        // Then
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertThat(beforeReload).isTrue();
+        assertThat(afterReload).isTrue();
+    }
+
+    @Test
+    void revoke_ShouldIgnoreExpiredToken() {
+        // When
+        revocationList.revoke(UUID.randomUUID(), Instant.now().minusSeconds(1));
+
+        // Then
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void bloomFilter_ShouldHaveNoFalseNegatives_AndFewFalsePositives() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<UUID> inserted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            inserted.add(id);
+            filter.put(id);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(inserted).allMatch(filter::mightContain);
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
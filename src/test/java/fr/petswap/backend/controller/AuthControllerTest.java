@@ -1,7 +1,13 @@
 package fr.petswap.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.petswap.backend.config.Auth0JwtService;
+import fr.petswap.backend.config.AuthProperties;
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.config.CustomExceptionHandler;
+import fr.petswap.backend.config.JwtAuthenticationFilter;
+import fr.petswap.backend.config.TokenRevocationList;
+import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dto.ProfileDto;
 import fr.petswap.backend.dto.auth.AuthRequest;
 import fr.petswap.backend.dto.auth.AuthResponse;
@@ -21,9 +27,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -61,7 +72,7 @@ class AuthControllerTest {
         authRequest.setUsername("testuser");
         authRequest.setPassword("password123");
 
-        authResponse = new AuthResponse("jwt-token-123");
+        authResponse = new AuthResponse("jwt-token-123", "refresh-token-123");
 
         profileDto = new ProfileDto();
         profileDto.setId(UUID.randomUUID());
@@ -149,8 +160,8 @@ class AuthControllerTest {
     @Test
     void getCurrentUser_ShouldReturnProfile_WhenAuthenticated() throws Exception {
         // Given
-        when(authentication.getName()).thenReturn("testuser");
-        when(profileService.getProfileByUsername("testuser")).thenReturn(profileDto);
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(profileDto.getId(), "testuser", Profile.Role.OWNER));
+        when(profileService.getProfileById(profileDto.getId())).thenReturn(profileDto);
 
         // When & Then
         mockMvc.perform(get("/api/auth/me")
@@ -162,11 +173,28 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.role").value("OWNER"));
     }
 
+    @Test
+    void getCurrentUser_ShouldResolveById_WhenUserRenamedSinceTokenIssued() throws Exception {
+        // Given : le token porte encore l'ancien nom, repris depuis par un autre compte
+        profileDto.setUsername("nouveau-nom");
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(profileDto.getId(), "testuser", Profile.Role.OWNER));
+        when(profileService.getProfileById(profileDto.getId())).thenReturn(profileDto);
+
+        // When & Then
+        mockMvc.perform(get("/api/auth/me")
+                        .principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(profileDto.getId().toString()))
+                .andExpect(jsonPath("$.username").value("nouveau-nom"));
+        verify(profileService, never()).getProfileByUsername(any());
+    }
+
     @Test
     void getCurrentUser_ShouldReturnNotFound_WhenUserNotExists() throws Exception {
         // Given
-        when(authentication.getName()).thenReturn("nonexistent");
-        when(profileService.getProfileByUsername("nonexistent"))
+        UUID deletedId = UUID.randomUUID();
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(deletedId, "nonexistent", Profile.Role.OWNER));
+        when(profileService.getProfileById(deletedId))
                 .thenThrow(new UserNotFoundException("Utilisateur non trouvé"));
 
         // When & Then
@@ -174,4 +202,54 @@ class AuthControllerTest {
                         .principal(authentication))
                 .andExpect(status().isNotFound());
     }
+
+    private MockMvc mockMvcWithJwtFilter(TokenRevocationList tokenRevocationList) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new Auth0JwtService(), null, null,
+                new AuthProperties(false, null, null, null), tokenRevocationList);
+        return MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new CustomExceptionHandler())
+                .addFilters(filter)
+                .build();
+    }
+
+    private static String expiredToken() {
+        AuthProperties.Tokens tokens = new AuthProperties.Tokens(Duration.ofMinutes(-1), Duration.ofDays(30), 1000, 0.001, Duration.ofMinutes(1));
+        Profile profile = Profile.builder().id(UUID.randomUUID()).username("testuser").role(Profile.Role.OWNER).build();
+        return new Auth0JwtService(new AuthProperties(false, null, null, tokens)).generateToken(profile);
+    }
+
+    @Test
+    void refresh_ShouldReachController_WhenBearerExpired() throws Exception {
+        // Given
+        when(authService.refresh("refresh-token-123")).thenReturn(authResponse);
+
+        // When & Then
+        mockMvcWithJwtFilter(mock(TokenRevocationList.class)).perform(post("/api/auth/refresh")
+                        .header("Authorization", "Bearer " + expiredToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"refresh-token-123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt-token-123"));
+    }
+
+    @Test
+    void logout_ShouldReachController_WhenBearerExpiredOrRevoked() throws Exception {
+        // Given
+        TokenRevocationList tokenRevocationList = mock(TokenRevocationList.class);
+        when(tokenRevocationList.isRevoked(any())).thenReturn(true);
+        String revokedToken = new Auth0JwtService().generateToken(
+                Profile.builder().id(UUID.randomUUID()).username("testuser").role(Profile.Role.OWNER).build());
+        MockMvc filteredMockMvc = mockMvcWithJwtFilter(tokenRevocationList);
+
+        // When & Then
+        for (String token : List.of(revokedToken, expiredToken())) {
+            filteredMockMvc.perform(post("/api/auth/logout")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"refresh-token-123\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Déconnexion réussie"));
+            verify(authService).logout(token, "refresh-token-123");
+        }
+    }
 }
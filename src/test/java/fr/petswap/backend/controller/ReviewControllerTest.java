@@ -1,6 +1,7 @@
 package fr.petswap.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.petswap.backend.config.AuthenticatedUser;
 import fr.petswap.backend.config.CustomExceptionHandler;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dto.CreateReviewRequest;
@@ -48,7 +49,7 @@ class ReviewControllerTest {
     private ObjectMapper objectMapper;
     private CreateReviewRequest createReviewRequest;
     private ReviewDto reviewDto;
-    private Profile currentUser;
+    private AuthenticatedUser currentUser;
     private UUID userId;
 
     @BeforeEach
@@ -66,9 +67,7 @@ class ReviewControllerTest {
                 .build();
 
         userId = UUID.randomUUID();
-        currentUser = new Profile();
-        currentUser.setId(userId);
-        currentUser.setUsername("testuser");
+        currentUser = new AuthenticatedUser(userId, "testuser", Profile.Role.PET_SITTER);
 
         createReviewRequest = new CreateReviewRequest();
         createReviewRequest.setBookingId(1);
@@ -1,20 +1,24 @@
 package fr.petswap.backend.controller;
 
+import fr.petswap.backend.config.StatisticsProperties;
 import fr.petswap.backend.dao.repository.BookingRepository;
 import fr.petswap.backend.dao.repository.MatchRepository;
 import fr.petswap.backend.dao.repository.ProfileRepository;
 import fr.petswap.backend.dao.repository.ReviewRepository;
+import fr.petswap.backend.service.StatisticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import static org.mockito.Mockito.when;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,12 +39,13 @@ class StatisticsControllerTest {
     @Mock
     private ReviewRepository reviewRepository;
 
-    @InjectMocks
-    private StatisticsController statisticsController;
+    private StatisticsService statisticsService;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(statisticsController).build();
+        statisticsService = new StatisticsService(profileRepository, matchRepository, bookingRepository,
+                reviewRepository, new StatisticsProperties(Duration.ofMinutes(5), null));
+        mockMvc = MockMvcBuilders.standaloneSetup(new StatisticsController(statisticsService, null)).build();
 
         // Configuration par défaut des mocks
         when(profileRepository.count()).thenReturn(150L);
@@ -101,4 +106,46 @@ class StatisticsControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.averageRating").value(4.3));
     }
+
+    @Test
+    void getStatistics_ShouldServeSnapshot_WithoutQueryingOnEachRequest() throws Exception {
+        // When
+        mockMvc.perform(get("/api/statistics")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/statistics")).andExpect(status().isOk());
+
+        // Then
+        verify(profileRepository, times(1)).count();
+        verify(reviewRepository, times(1)).getAverageRating();
+    }
+
+    @Test
+    void getStatistics_ShouldSetCacheHeaders_AndAnswerNotModified() throws Exception {
+        // Given
+        MvcResult first = mockMvc.perform(get("/api/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/statistics").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void refresh_ShouldChangeEtag_WhenStatisticsChange() throws Exception {
+        // Given
+        String before = mockMvc.perform(get("/api/statistics")).andReturn().getResponse().getHeader("ETag");
+        when(profileRepository.count()).thenReturn(151L);
+
+        // When
+        statisticsService.refresh();
+
+        // Then
+        mockMvc.perform(get("/api/statistics").header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsers").value(151));
+    }
 }
@@ -0,0 +1,150 @@
+package fr.petswap.backend.dao.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requêtes exécutées sur un vrai PostgreSQL (embarqué), avec le schéma produit par les changelogs Liquibase :
+ * H2 ne sait pas exécuter le LIMIT corrélé de markRead.
+ */
+class ConversationSummaryJdbcRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private ConversationSummaryJdbcRepository repository;
+    private UUID ownerId;
+    private UUID petSitterId;
+    private int matchId;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(postgres.getPostgresDatabase());
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new ConversationSummaryJdbcRepository(jdbcTemplate);
+        ownerId = profile();
+        petSitterId = profile();
+        Integer petId = jdbcTemplate.queryForObject(
+                "INSERT INTO pets (owner_id, name, species) VALUES (?, 'Rex', 'Chien') RETURNING pet_id",
+                Integer.class, ownerId);
+        Integer listingId = jdbcTemplate.queryForObject(
+                "INSERT INTO listings (owner_id, pet_id, title, start_date, end_date) " +
+                "VALUES (?, ?, 'Garde', CURRENT_DATE, CURRENT_DATE + 7) RETURNING listing_id",
+                Integer.class, ownerId, petId);
+        matchId = jdbcTemplate.queryForObject(
+                "INSERT INTO matches (listing_id, pet_sitter_id, owner_liked_back) VALUES (?, ?, true) RETURNING match_id",
+                Integer.class, listingId, petSitterId);
+    }
+
+    private UUID profile() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO profiles (user_id, username, password) VALUES (?, ?, 'x')",
+                userId, "user-" + userId);
+        return userId;
+    }
+
+    /**
+     * Enregistre un message et le reporte sur la boîte de réception, comme MessageService.sendMessage
+     */
+    private int send(UUID senderId) {
+        UUID recipientId = senderId.equals(ownerId) ? petSitterId : ownerId;
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "INSERT INTO messages (match_id, sender_id, content, sent_at) VALUES (?, ?, 'Bonjour', clock_timestamp()) " +
+                "RETURNING message_id, sent_at",
+                matchId, senderId);
+        int messageId = (Integer) row.get("message_id");
+        Instant sentAt = ((java.sql.Timestamp) row.get("sent_at")).toInstant();
+        repository.recordMessage(new ConversationSummaryJdbcRepository.NewMessage(
+                matchId, messageId, senderId, recipientId, "Bonjour", sentAt));
+        return messageId;
+    }
+
+    private Map<String, Object> summaryOf(UUID userId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT unread_count, last_read_message_id FROM conversation_summaries WHERE user_id = ? AND match_id = ?",
+                userId, matchId);
+    }
+
+    @Test
+    void markRead_ShouldOnlyClearMessagesUpToLastSeen_OnPartialRead() {
+        // Given
+        send(ownerId);
+        int second = send(ownerId);
+        send(petSitterId);
+        send(ownerId);
+
+        // When
+        repository.markRead(petSitterId, matchId, second);
+
+        // Then
+        assertThat(summaryOf(petSitterId)).containsEntry("unread_count", 1).containsEntry("last_read_message_id", second);
+        assertThat(repository.countUnread(petSitterId)).isEqualTo(1);
+    }
+
+    @Test
+    void markRead_ShouldClearConversation_AndStopAtLastMessage_WhenReadPastIt() {
+        // Given
+        send(ownerId);
+        int last = send(ownerId);
+
+        // When
+        repository.markRead(petSitterId, matchId, last + 100);
+
+        // Then
+        assertThat(summaryOf(petSitterId)).containsEntry("unread_count", 0).containsEntry("last_read_message_id", last);
+    }
+
+    @Test
+    void markRead_ShouldKeepMessageReceivedDuringRead_Unread() {
+        // Given : le client a affiché le premier message, le second arrive avant sa requête de lecture
+        int seen = send(ownerId);
+        send(ownerId);
+
+        // When
+        repository.markRead(petSitterId, matchId, seen);
+
+        // Then
+        assertThat(summaryOf(petSitterId)).containsEntry("unread_count", 1).containsEntry("last_read_message_id", seen);
+    }
+
+    @Test
+    void markRead_ShouldIgnoreStaleRead() {
+        // Given
+        int first = send(ownerId);
+        int second = send(ownerId);
+        repository.markRead(petSitterId, matchId, second);
+        send(ownerId);
+
+        // When
+        repository.markRead(petSitterId, matchId, first);
+
+        // Then
+        assertThat(summaryOf(petSitterId)).containsEntry("unread_count", 1).containsEntry("last_read_message_id", second);
+    }
+}
@@ -1,6 +1,7 @@
 package fr.petswap.backend.service;
 
 import fr.petswap.backend.config.Auth0JwtService;
+import fr.petswap.backend.config.TokenRevocationList;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.repository.ProfileRepository;
 import fr.petswap.backend.dto.auth.AuthRequest;
@@ -36,6 +37,15 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private StatisticsRollupService statisticsRollupService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -62,6 +72,7 @@ class AuthServiceTest {
         when(profileRepository.findByUsername("testuser")).thenReturn(Optional.of(profile));
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
         when(jwtService.generateToken(profile)).thenReturn("jwt-token-123");
+        when(refreshTokenService.create(profile.getId())).thenReturn("refresh-token-123");
 
         // When
         AuthResponse result = authService.login(authRequest);
@@ -69,6 +80,7 @@ class AuthServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getToken()).isEqualTo("jwt-token-123");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh-token-123");
         verify(jwtService).generateToken(profile);
     }
 
@@ -160,4 +172,48 @@ class AuthServiceTest {
         verify(profileRepository).save(argThat(savedProfile ->
             savedProfile.getRole() == Profile.Role.PET_SITTER));
     }
+
+    @Test
+    void refresh_ShouldIssueNewTokens_WhenRefreshTokenValid() {
+        // Given
+        when(refreshTokenService.consume("refresh-token-123")).thenReturn(Optional.of(profile.getId()));
+        when(profileRepository.findById(profile.getId())).thenReturn(Optional.of(profile));
+        when(jwtService.generateToken(profile)).thenReturn("jwt-token-456");
+        when(refreshTokenService.create(profile.getId())).thenReturn("refresh-token-456");
+
+        // When
+        AuthResponse result = authService.refresh("refresh-token-123");
+
+        // Then
+        assertThat(result.getToken()).isEqualTo("jwt-token-456");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh-token-456");
+    }
+
+    @Test
+    void refresh_ShouldThrowException_WhenRefreshTokenAlreadyUsed() {
+        // Given
+        when(refreshTokenService.consume("refresh-token-123")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh("refresh-token-123"))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Refresh token invalide ou expiré");
+        verify(jwtService, never()).generateToken(any(Profile.class));
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessAndRefreshTokens() {
+        // Given
+        Auth0JwtService realJwtService = new Auth0JwtService();
+        String accessToken = realJwtService.generateToken(profile);
+        var decodedJWT = realJwtService.verifyToken(accessToken);
+        when(jwtService.verifyToken(accessToken)).thenReturn(decodedJWT);
+
+        // When
+        authService.logout(accessToken, "refresh-token-123");
+
+        // Then
+        verify(tokenRevocationList).revoke(UUID.fromString(decodedJWT.getId()), decodedJWT.getExpiresAtAsInstant());
+        verify(refreshTokenService).revoke("refresh-token-123");
+    }
 }
@@ -0,0 +1,172 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.BookingProperties;
+import fr.petswap.backend.dao.jpa.Booking;
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.jpa.Match;
+import fr.petswap.backend.dao.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    private static final int LISTING_ID = 1;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        BookingProperties properties = new BookingProperties(
+                new BookingProperties.Lifecycle("-", 1000), new BookingProperties.IntervalIndex(Duration.ofMinutes(5)));
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, properties, () -> now);
+    }
+
+    private static Booking booking(int id, LocalDate startDate, LocalDate endDate) {
+        Listing listing = new Listing();
+        listing.setId(LISTING_ID);
+        Match match = new Match();
+        match.setListing(listing);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setMatch(match);
+        booking.setStartDate(startDate);
+        booking.setEndDate(endDate);
+        return booking;
+    }
+
+    @Test
+    void hasConflict_ShouldDetectAllOverlapKinds() {
+        // Given
+        when(bookingRepository.findActiveBookingsByListingId(LISTING_ID)).thenReturn(List.of(
+                booking(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 20)),
+                booking(2, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 5))));
+        when(bookingRepository.findConflictingConfirmedBookings(eq(LISTING_ID), any(), any())).thenReturn(List.of(new Booking()));
+
+        // When & Then
+        // Période englobée, englobante, chevauchements partiels et bornes incluses
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 7, 12), LocalDate.of(2026, 7, 14))).isTrue();
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31))).isTrue();
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 10))).isTrue();
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 7, 20), LocalDate.of(2026, 7, 25))).isTrue();
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 7, 21), LocalDate.of(2026, 7, 31))).isFalse();
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 9))).isFalse();
+        verify(bookingRepository, times(1)).findActiveBookingsByListingId(LISTING_ID);
+        // Seuls les conflits signalés par l'index sont confirmés en base
+        verify(bookingRepository, times(4)).findConflictingConfirmedBookings(eq(LISTING_ID), any(), any());
+    }
+
+    @Test
+    void hasConflict_ShouldFollowConfirmedAndReleasedBookings() {
+        // Given
+        when(bookingRepository.findActiveBookingsByListingId(LISTING_ID)).thenReturn(List.of());
+        when(bookingRepository.findConflictingConfirmedBookings(eq(LISTING_ID), any(), any())).thenReturn(List.of(new Booking()));
+        Booking booking = booking(3, LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 3));
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 9, 2), LocalDate.of(2026, 9, 2))).isFalse();
+
+        // When
+        bookingIntervalIndex.bookingConfirmed(booking);
+
+        // Then
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 9, 2), LocalDate.of(2026, 9, 2))).isTrue();
+
+        // When
+        bookingIntervalIndex.bookingReleased(booking);
+
+        // Then
+        assertThat(bookingIntervalIndex.hasConflict(LISTING_ID, LocalDate.of(2026, 9, 2), LocalDate.of(2026, 9, 2))).isFalse();
+    }
+
+    @Test
+    void hasConflict_ShouldConfirmAgainstDatabase_AndForgetPeriodReleasedElsewhere() {
+        // Given : la réservation 1 a été annulée par une autre instance après le chargement
+        LocalDate startDate = LocalDate.of(2026, 7, 5);
+        LocalDate endDate = LocalDate.of(2026, 7, 6);
+        when(bookingRepository.findActiveBookingsByListingId(LISTING_ID))
+                .thenReturn(List.of(booking(1, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31))))
+                .thenReturn(List.of());
+        when(bookingRepository.findConflictingConfirmedBookings(LISTING_ID, startDate, endDate)).thenReturn(List.of());
+
+        // When
+        boolean conflict = bookingIntervalIndex.hasConflict(LISTING_ID, startDate, endDate);
+
+        // Then
+        assertThat(conflict).isFalse();
+        assertThat(bookingIntervalIndex.bookedPeriods(LISTING_ID, startDate, endDate)).isEmpty();
+        verify(bookingRepository, times(2)).findActiveBookingsByListingId(LISTING_ID);
+    }
+
+    @Test
+    void bookedPeriods_ShouldReloadListing_OnceTtlExpired() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 7, 1);
+        LocalDate to = LocalDate.of(2026, 7, 31);
+        when(bookingRepository.findActiveBookingsByListingId(LISTING_ID))
+                .thenReturn(List.of(booking(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 20))))
+                .thenReturn(List.of());
+        assertThat(bookingIntervalIndex.bookedPeriods(LISTING_ID, from, to)).hasSize(1);
+
+        // When
+        now += Duration.ofMinutes(4).toNanos();
+        List<BookingIntervalIndex.BookedPeriod> beforeTtl = bookingIntervalIndex.bookedPeriods(LISTING_ID, from, to);
+        now += Duration.ofMinutes(2).toNanos();
+        List<BookingIntervalIndex.BookedPeriod> afterTtl = bookingIntervalIndex.bookedPeriods(LISTING_ID, from, to);
+
+        // Then
+        assertThat(beforeTtl).hasSize(1);
+        assertThat(afterTtl).isEmpty();
+    }
+
+    @Test
+    void bookingConfirmed_ShouldDropListing_WhenPeriodOverlapsStaleEntry() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 7, 1);
+        LocalDate to = LocalDate.of(2026, 7, 31);
+        Booking confirmed = booking(2, LocalDate.of(2026, 7, 15), LocalDate.of(2026, 7, 16));
+        when(bookingRepository.findActiveBookingsByListingId(LISTING_ID))
+                .thenReturn(List.of(booking(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 20))))
+                .thenReturn(List.of(confirmed));
+        bookingIntervalIndex.bookedPeriods(LISTING_ID, from, to);
+
+        // When
+        bookingIntervalIndex.bookingConfirmed(confirmed);
+
+        // Then
+        assertThat(bookingIntervalIndex.bookedPeriods(LISTING_ID, from, to))
+                .containsExactly(new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 7, 15), LocalDate.of(2026, 7, 16)));
+    }
+
+    @Test
+    void bookedPeriods_ShouldReturnPeriodsTouchingRange_InStartOrder() {
+        // Given
+        when(bookingRepository.findActiveBookingsByListingId(LISTING_ID)).thenReturn(List.of(
+                booking(2, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 5)),
+                booking(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 20)),
+                booking(3, LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 5))));
+
+        // When
+        List<BookingIntervalIndex.BookedPeriod> periods =
+                bookingIntervalIndex.bookedPeriods(LISTING_ID, LocalDate.of(2026, 7, 15), LocalDate.of(2026, 8, 1));
+
+        // Then
+        assertThat(periods).containsExactly(
+                new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 20)),
+                new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 5)));
+    }
+}
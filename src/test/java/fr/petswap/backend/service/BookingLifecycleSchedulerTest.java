@@ -0,0 +1,73 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.BookingProperties;
+import fr.petswap.backend.dao.jpa.Booking;
+import fr.petswap.backend.dao.repository.BookingJdbcRepository;
+import fr.petswap.backend.dao.repository.BookingJdbcRepository.TransitionedBooking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingLifecycleSchedulerTest {
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private StatisticsRollupService statisticsRollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingLifecycleScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        scheduler = new BookingLifecycleScheduler(bookingJdbcRepository, bookingIntervalIndex, statisticsRollupService, transactionManager,
+                new BookingProperties(new BookingProperties.Lifecycle("-", 2), new BookingProperties.IntervalIndex(Duration.ofMinutes(5))));
+    }
+
+    @Test
+    void advanceBookings_ShouldProcessChunksUntilExhausted_AndUpdateListingCounters() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(bookingJdbcRepository.startDueBookings(today, 2)).thenReturn(
+                List.of(new TransitionedBooking(1, 10), new TransitionedBooking(2, 10)),
+                List.of(new TransitionedBooking(3, 11)));
+        when(bookingJdbcRepository.completeEndedBookings(today, 2)).thenReturn(
+                List.of(new TransitionedBooking(4, 12), new TransitionedBooking(5, 12)),
+                List.of(new TransitionedBooking(6, 13)));
+
+        // When
+        scheduler.advanceBookings();
+
+        // Then
+        verify(bookingJdbcRepository, times(2)).startDueBookings(today, 2);
+        verify(bookingJdbcRepository).completeListingBookings(Map.of(12, 2), today);
+        verify(bookingJdbcRepository).completeListingBookings(Map.of(13, 1), today);
+        verify(bookingJdbcRepository, times(2)).completeListingBookings(any(), any());
+        verify(bookingIntervalIndex).bookingReleased(12, 4);
+        verify(bookingIntervalIndex).bookingReleased(13, 6);
+        verify(bookingIntervalIndex, never()).bookingReleased(10, 1);
+        verify(transactionManager, times(4)).commit(any());
+        verify(statisticsRollupService).recordBookingStatus(Booking.BookingStatus.IN_PROGRESS, 3);
+        verify(statisticsRollupService).recordBookingStatus(Booking.BookingStatus.COMPLETED, 3);
+    }
+}
@@ -0,0 +1,164 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.dao.jpa.Booking;
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.jpa.Match;
+import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.dao.repository.BookingRepository;
+import fr.petswap.backend.dao.repository.MatchRepository;
+import fr.petswap.backend.dto.RebookingRequest;
+import fr.petswap.backend.mapper.BookingMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private ListingStatusService listingStatusService;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private StatisticsRollupService statisticsRollupService;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private UUID ownerId;
+    private UUID petSitterId;
+    private Match match;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        petSitterId = UUID.randomUUID();
+
+        Profile owner = new Profile();
+        owner.setId(ownerId);
+        Profile petSitter = new Profile();
+        petSitter.setId(petSitterId);
+
+        Listing listing = new Listing();
+        listing.setId(5);
+        listing.setOwner(owner);
+        listing.setPricePerDay(20.0);
+
+        match = new Match();
+        match.setId(3);
+        match.setListing(listing);
+        match.setPetSitter(petSitter);
+
+        booking = new Booking();
+        booking.setId(1);
+        booking.setMatch(match);
+        booking.setTotalPrice(100.0);
+    }
+
+    @Test
+    void createRebooking_ShouldCountBookingAsActiveOnListing() {
+        // Given
+        RebookingRequest request = new RebookingRequest();
+        request.setMatchId(3);
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+        when(matchRepository.findById(3)).thenReturn(Optional.of(match));
+        when(bookingRepository.findCompletedBookingsByMatchId(3)).thenReturn(List.of(booking));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        bookingService.createRebooking(ownerId, request);
+
+        // Then
+        verify(listingStatusService).bookingConfirmed(5);
+    }
+
+    @Test
+    void completeBooking_ShouldMoveBookingToCompletedOnListing() {
+        // Given
+        booking.setStatus(Booking.BookingStatus.IN_PROGRESS);
+        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
+        when(bookingRepository.transitionStatus(eq(1), any(), eq(Booking.BookingStatus.COMPLETED))).thenReturn(1);
+
+        // When
+        bookingService.completeBooking(petSitterId, 1);
+
+        // Then
+        verify(listingStatusService).bookingCompleted(5);
+        assertThat(booking.getStatus()).isEqualTo(Booking.BookingStatus.COMPLETED);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void completeBooking_ShouldNotAdjustCounters_WhenBookingChangedConcurrently() {
+        // Given : le traitement nocturne a terminé la réservation après sa lecture
+        booking.setStatus(Booking.BookingStatus.IN_PROGRESS);
+        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
+        when(bookingRepository.transitionStatus(eq(1), any(), eq(Booking.BookingStatus.COMPLETED))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.completeBooking(petSitterId, 1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cette réservation a été modifiée entre-temps, veuillez réessayer");
+        verifyNoInteractions(listingStatusService, statisticsRollupService);
+    }
+
+    @Test
+    void cancelBooking_ShouldReleaseListingCounter_OnlyForActiveBookings() {
+        // Given
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
+        when(bookingRepository.transitionStatus(1, Set.of(Booking.BookingStatus.PENDING), Booking.BookingStatus.CANCELLED))
+                .thenReturn(1);
+
+        // When
+        bookingService.cancelBooking(ownerId, 1);
+
+        // Then
+        verify(listingStatusService, never()).bookingCancelled(any());
+    }
+
+    @Test
+    void cancelBooking_ShouldReleaseListingCounter_WhenConfirmed() {
+        // Given
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
+        // Une garde confirmée passée en cours entre-temps reste annulable
+        when(bookingRepository.transitionStatus(1,
+                Set.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.IN_PROGRESS), Booking.BookingStatus.CANCELLED))
+                .thenReturn(1);
+
+        // When
+        bookingService.cancelBooking(petSitterId, 1);
+
+        // Then
+        verify(listingStatusService).bookingCancelled(5);
+    }
+}
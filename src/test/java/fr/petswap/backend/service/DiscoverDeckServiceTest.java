@@ -0,0 +1,140 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.repository.ListingRepository;
+import fr.petswap.backend.dto.ListingDto;
+import fr.petswap.backend.mapper.ListingMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DiscoverDeckServiceTest {
+
+    @Mock
+    private SwipeService swipeService;
+
+    @Mock
+    private SwipedListingCache swipedListingCache;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private ListingMapper listingMapper;
+
+    private DiscoverDeckService discoverDeckService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        // Seuil bas à 0 : pas de rechargement en arrière-plan, les tests restent déterministes
+        DiscoverProperties properties = new DiscoverProperties(null,
+                new DiscoverProperties.Deck(3, 0, 10, 1, 10), null);
+        discoverDeckService = new DiscoverDeckService(swipeService, swipedListingCache,
+                listingRepository, listingMapper, properties);
+        userId = UUID.randomUUID();
+
+        when(listingMapper.toDto(any(Listing.class))).thenAnswer(invocation -> {
+            ListingDto dto = new ListingDto();
+            dto.setId(invocation.<Listing>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        discoverDeckService.shutdown();
+    }
+
+    private static Listing listing(int id, Listing.ListingStatus status) {
+        Listing listing = new Listing();
+        listing.setId(id);
+        listing.setStatus(status);
+        return listing;
+    }
+
+    @Test
+    void nextListing_ShouldBuildDeckOnce_ThenPopFromIt() {
+        // Given
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> false);
+        when(swipeService.findUnswipedListingIds(userId, 0, 3)).thenReturn(List.of(1, 2, 3));
+        when(listingRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(listing(invocation.getArgument(0), Listing.ListingStatus.ACTIVE)));
+
+        // When
+        Optional<ListingDto> first = discoverDeckService.nextListing(userId);
+        Optional<ListingDto> second = discoverDeckService.nextListing(userId);
+
+        // Then
+        assertThat(first).map(ListingDto::getId).contains(1);
+        assertThat(second).map(ListingDto::getId).contains(2);
+        verify(swipeService, times(1)).findUnswipedListingIds(any(UUID.class), anyInt(), anyInt());
+    }
+
+    @Test
+    void nextListing_ShouldSkipSwipedAndInactiveListings() {
+        // Given
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> id == 1);
+        when(swipeService.findUnswipedListingIds(userId, 0, 3)).thenReturn(List.of(1, 2, 3));
+        when(listingRepository.findById(2)).thenReturn(Optional.of(listing(2, Listing.ListingStatus.INACTIVE)));
+        when(listingRepository.findById(3)).thenReturn(Optional.of(listing(3, Listing.ListingStatus.ACTIVE)));
+
+        // When
+        Optional<ListingDto> next = discoverDeckService.nextListing(userId);
+
+        // Then
+        assertThat(next).map(ListingDto::getId).contains(3);
+        verify(listingRepository, never()).findById(1);
+    }
+
+    @Test
+    void nextListing_ShouldResumeScanAfterLastListing_AndReturnEmpty_WhenExhausted() {
+        // Given
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> false);
+        when(swipeService.findUnswipedListingIds(userId, 0, 3)).thenReturn(List.of(7));
+        when(swipeService.findUnswipedListingIds(userId, 7, 3)).thenReturn(List.of());
+        when(swipeService.findUnswipedListingIds(userId, 0, 3)).thenReturn(List.of(7)).thenReturn(List.of());
+        when(listingRepository.findById(7)).thenReturn(Optional.of(listing(7, Listing.ListingStatus.ACTIVE)));
+
+        // When
+        Optional<ListingDto> first = discoverDeckService.nextListing(userId);
+        Optional<ListingDto> second = discoverDeckService.nextListing(userId);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    void nextListing_ShouldRewindScan_WhenEndReached_ToOfferSkippedListingsAgain() {
+        // Given : l'annonce 7 a été dépilée sans être swipée, l'annonce 2 a été réactivée entre-temps
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> false);
+        when(swipeService.findUnswipedListingIds(userId, 0, 3)).thenReturn(List.of(7)).thenReturn(List.of(2, 7));
+        when(swipeService.findUnswipedListingIds(userId, 7, 3)).thenReturn(List.of());
+        when(listingRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(listing(invocation.getArgument(0), Listing.ListingStatus.ACTIVE)));
+
+        // When
+        Optional<ListingDto> first = discoverDeckService.nextListing(userId);
+        Optional<ListingDto> second = discoverDeckService.nextListing(userId);
+        Optional<ListingDto> third = discoverDeckService.nextListing(userId);
+
+        // Then
+        assertThat(first).map(ListingDto::getId).contains(7);
+        assertThat(second).map(ListingDto::getId).contains(2);
+        assertThat(third).map(ListingDto::getId).contains(7);
+    }
+}
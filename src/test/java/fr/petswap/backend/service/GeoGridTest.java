@@ -0,0 +1,50 @@
+package fr.petswap.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoGridTest {
+
+    @Test
+    void distanceKm_ShouldMatchKnownDistance() {
+        // Paris -> Lyon : environ 392 km
+        double distance = GeoGrid.distanceKm(48.8566, 2.3522, 45.7640, 4.8357);
+
+        assertThat(distance).isCloseTo(392, within(2.0));
+    }
+
+    @Test
+    void cellsWithin_ShouldContainCellOfNearbyPoint() {
+        // Given
+        double latitude = 48.8566;
+        double longitude = 2.3522;
+
+        // When
+        List<Integer> cells = GeoGrid.cellsWithin(latitude, longitude, 20);
+
+        // Then
+        assertThat(cells).contains(GeoGrid.cellOf(latitude, longitude), GeoGrid.cellOf(48.99, 2.55));
+        assertThat(cells).doesNotContain(GeoGrid.cellOf(45.7640, 4.8357));
+    }
+
+    @Test
+    void cellsWithin_ShouldWrapAroundAntimeridian() {
+        // When
+        List<Integer> cells = GeoGrid.cellsWithin(-17.7, 179.95, 30);
+
+        // Then
+        assertThat(cells).contains(GeoGrid.cellOf(-17.7, -179.9), GeoGrid.cellOf(-17.7, 179.9));
+    }
+
+    @Test
+    void checkCoordinates_ShouldThrowException_WhenOutOfRange() {
+        assertThatThrownBy(() -> GeoGrid.checkCoordinates(91, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Coordonnées invalides");
+    }
+}
@@ -0,0 +1,143 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.repository.ListingRepository;
+import fr.petswap.backend.dao.repository.PetRepository;
+import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dto.DateRangeDto;
+import fr.petswap.backend.dto.ListingAvailabilityDto;
+import fr.petswap.backend.mapper.ListingMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private PetRepository petRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private ListingMapper listingMapper;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @InjectMocks
+    private ListingService listingService;
+
+    private Listing listing;
+
+    @BeforeEach
+    void setUp() {
+        listing = new Listing();
+        listing.setId(1);
+        listing.setStartDate(LocalDate.of(2026, 7, 1));
+        listing.setEndDate(LocalDate.of(2026, 7, 31));
+    }
+
+    private static DateRangeDto range(int startDay, int endDay) {
+        return new DateRangeDto(LocalDate.of(2026, 7, startDay), LocalDate.of(2026, 7, endDay));
+    }
+
+    @Test
+    void getAvailability_ShouldSplitListingPeriodIntoFreeAndBusyRanges() {
+        // Given
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+        when(bookingIntervalIndex.bookedPeriods(1, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31))).thenReturn(List.of(
+                new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 9)),
+                new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 12)),
+                new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 7, 20), LocalDate.of(2026, 7, 31))));
+
+        // When
+        ListingAvailabilityDto availability = listingService.getAvailability(1, null, null);
+
+        // Then
+        assertThat(availability.getBusy()).containsExactly(range(5, 12), range(20, 31));
+        assertThat(availability.getFree()).containsExactly(range(1, 4), range(13, 19));
+    }
+
+    @Test
+    void getAvailability_ShouldClipRangesToRequestedWindow() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 6, 25);
+        LocalDate to = LocalDate.of(2026, 7, 7);
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+        when(bookingIntervalIndex.bookedPeriods(1, LocalDate.of(2026, 7, 1), to)).thenReturn(List.of(
+                new BookingIntervalIndex.BookedPeriod(LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 9))));
+
+        // When
+        ListingAvailabilityDto availability = listingService.getAvailability(1, from, to);
+
+        // Then
+        assertThat(availability.getFrom()).isEqualTo(from);
+        assertThat(availability.getFree()).containsExactly(range(1, 4));
+        assertThat(availability.getBusy()).containsExactly(range(5, 7));
+    }
+
+    @Test
+    void getAvailability_ShouldThrowException_WhenRangeIsReversed() {
+        // Given
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+
+        // When & Then
+        assertThatThrownBy(() -> listingService.getAvailability(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bookingIntervalIndex);
+    }
+
+    @Test
+    void findNearbyUnswipedListings_ShouldDelegateRadiusCursorAndLimitToQuery() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ListingRepository.NearbyListingRow row = new ListingRepository.NearbyListingRow() {
+            @Override
+            public Integer getId() {
+                return 9;
+            }
+
+            @Override
+            public Double getDistanceKm() {
+                return 4.2;
+            }
+        };
+        when(listingRepository.findNearbyUnswipedListings(eq(userId), anyCollection(), eq(48.85), eq(2.35),
+                eq(ListingService.MAX_RADIUS_KM), eq(1.5), eq(3), eq(21))).thenReturn(List.of(row));
+
+        // When
+        List<ListingService.NearbyListing> nearby = listingService.findNearbyUnswipedListings(userId, 48.85, 2.35, 500.0,
+                new ListingService.NearbyListing(3, 1.5), 21);
+
+        // Then
+        assertThat(nearby).containsExactly(new ListingService.NearbyListing(9, 4.2));
+    }
+
+    @Test
+    void findNearbyActiveListings_ShouldRejectNonPositiveRadius() {
+        // When & Then
+        assertThatThrownBy(() -> listingService.findNearbyActiveListings(UUID.randomUUID(), 48.85, 2.35, 0.0, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Le rayon doit être positif");
+        verifyNoInteractions(listingRepository);
+    }
+}
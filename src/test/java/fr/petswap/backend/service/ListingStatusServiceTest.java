@@ -0,0 +1,143 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingStatusServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @InjectMocks
+    private ListingStatusService listingStatusService;
+
+    private Listing listing;
+
+    @BeforeEach
+    void setUp() {
+        listing = new Listing();
+        listing.setId(1);
+        listing.setEndDate(LocalDate.now().plusDays(10));
+        listing.setStatus(Listing.ListingStatus.INACTIVE);
+    }
+
+    @Test
+    void bookingConfirmed_ShouldIncrementActiveCounter() {
+        // Given
+        when(listingRepository.adjustBookingCounters(1, 1, 0, LocalDate.now())).thenReturn(1);
+
+        // When
+        listingStatusService.bookingConfirmed(1);
+
+        // Then
+        verify(listingRepository).adjustBookingCounters(1, 1, 0, LocalDate.now());
+    }
+
+    @Test
+    void bookingCompleted_ShouldMoveBookingFromActiveToCompleted() {
+        // Given
+        when(listingRepository.adjustBookingCounters(1, -1, 1, LocalDate.now())).thenReturn(1);
+
+        // When
+        listingStatusService.bookingCompleted(1);
+
+        // Then
+        verify(listingRepository).adjustBookingCounters(1, -1, 1, LocalDate.now());
+    }
+
+    @Test
+    void bookingCancelled_ShouldDecrementActiveCounterOnly() {
+        // Given
+        when(listingRepository.adjustBookingCounters(1, -1, 0, LocalDate.now())).thenReturn(1);
+
+        // When
+        listingStatusService.bookingCancelled(1);
+
+        // Then
+        verify(listingRepository).adjustBookingCounters(1, -1, 0, LocalDate.now());
+    }
+
+    @Test
+    void bookingConfirmed_ShouldThrow_WhenListingNotFound() {
+        // Given
+        when(listingRepository.adjustBookingCounters(99, 1, 0, LocalDate.now())).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> listingStatusService.bookingConfirmed(99))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Annonce non trouvée");
+    }
+
+    @Test
+    void reactivateListing_ShouldBeReserved_WhenActiveBookingsRemain() {
+        // Given
+        listing.setActiveBookingCount(1);
+        listing.setCompletedBookingCount(2);
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+
+        // When
+        listingStatusService.reactivateListing(1);
+
+        // Then
+        assertThat(listing.getStatus()).isEqualTo(Listing.ListingStatus.RESERVED);
+        verify(listingRepository).save(listing);
+    }
+
+    @Test
+    void reactivateListing_ShouldBeCompleted_WhenPeriodOverWithCompletedBooking() {
+        // Given
+        listing.setEndDate(LocalDate.now().minusDays(1));
+        listing.setCompletedBookingCount(1);
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+
+        // When
+        listingStatusService.reactivateListing(1);
+
+        // Then
+        assertThat(listing.getStatus()).isEqualTo(Listing.ListingStatus.COMPLETED);
+    }
+
+    @Test
+    void reactivateListing_ShouldBeActive_WhenNoBooking() {
+        // Given
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+
+        // When
+        listingStatusService.reactivateListing(1);
+
+        // Then
+        assertThat(listing.getStatus()).isEqualTo(Listing.ListingStatus.ACTIVE);
+    }
+
+    @Test
+    void reactivateListing_ShouldLeaveListingUntouched_WhenNotInactive() {
+        // Given
+        listing.setStatus(Listing.ListingStatus.RESERVED);
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+
+        // When
+        listingStatusService.reactivateListing(1);
+
+        // Then
+        assertThat(listing.getStatus()).isEqualTo(Listing.ListingStatus.RESERVED);
+        verify(listingRepository, never()).save(any());
+    }
+}
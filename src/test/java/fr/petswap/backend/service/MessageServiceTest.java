@@ -0,0 +1,276 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.jpa.Match;
+import fr.petswap.backend.dao.jpa.Message;
+import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.dao.repository.ConversationSummaryJdbcRepository;
+import fr.petswap.backend.dao.repository.MatchRepository;
+import fr.petswap.backend.dao.repository.MessageRepository;
+import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dto.ConversationPageDto;
+import fr.petswap.backend.dto.ConversationSummaryDto;
+import fr.petswap.backend.dto.MessageDto;
+import fr.petswap.backend.dto.MessagePageDto;
+import fr.petswap.backend.dto.SendMessageRequest;
+import fr.petswap.backend.dto.UnreadCountDto;
+import fr.petswap.backend.mapper.MessageMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageServiceTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private MessageMapper messageMapper;
+
+    @Mock
+    private ConversationSummaryJdbcRepository conversationSummaryJdbcRepository;
+
+    @Mock
+    private MessageStreamHub messageStreamHub;
+
+    @InjectMocks
+    private MessageService messageService;
+
+    private UUID ownerId;
+    private UUID petSitterId;
+    private Profile petSitter;
+    private Match match;
+    private MatchRepository.MatchParticipants participants;
+
+    private record Participants(Integer getId, UUID getOwnerId, UUID getPetSitterId, boolean isOwnerLikedBack,
+                                String getOwnerUsername, String getPetSitterUsername)
+            implements MatchRepository.MatchParticipants {
+    }
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        petSitterId = UUID.randomUUID();
+
+        Profile owner = new Profile();
+        owner.setId(ownerId);
+
+        petSitter = new Profile();
+        petSitter.setId(petSitterId);
+
+        Listing listing = new Listing();
+        listing.setOwner(owner);
+
+        match = new Match();
+        match.setId(7);
+        match.setListing(listing);
+        match.setPetSitter(petSitter);
+        match.setOwnerLikedBack(true);
+
+        participants = new Participants(7, ownerId, petSitterId, true, "owner", "sitter");
+    }
+
+    @Test
+    void sendMessage_ShouldRecordMessageInRecipientInbox_AndPushItToBothParticipants() {
+        // Given
+        SendMessageRequest request = new SendMessageRequest();
+        request.setMatchId(7);
+        request.setContent("x".repeat(MessageService.PREVIEW_LENGTH + 50));
+        Instant sentAt = Instant.now();
+        when(matchRepository.findParticipantsById(7)).thenReturn(Optional.of(participants));
+        when(matchRepository.getReferenceById(7)).thenReturn(match);
+        when(profileRepository.getReferenceById(petSitterId)).thenReturn(petSitter);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            message.setId(42);
+            message.setSentAt(sentAt);
+            return message;
+        });
+        MessageDto messageDto = new MessageDto();
+        when(messageMapper.toDto(any(Message.class), eq("sitter"))).thenReturn(messageDto);
+
+        // When
+        messageService.sendMessage(petSitterId, request);
+
+        // Then
+        ArgumentCaptor<ConversationSummaryJdbcRepository.NewMessage> captor =
+                ArgumentCaptor.forClass(ConversationSummaryJdbcRepository.NewMessage.class);
+        verify(conversationSummaryJdbcRepository).recordMessage(captor.capture());
+        ConversationSummaryJdbcRepository.NewMessage recorded = captor.getValue();
+        assertThat(recorded.matchId()).isEqualTo(7);
+        assertThat(recorded.messageId()).isEqualTo(42);
+        assertThat(recorded.senderId()).isEqualTo(petSitterId);
+        assertThat(recorded.recipientId()).isEqualTo(ownerId);
+        assertThat(recorded.preview()).hasSize(MessageService.PREVIEW_LENGTH);
+        assertThat(recorded.sentAt()).isEqualTo(sentAt);
+        verify(messageStreamHub).publish(ownerId, messageDto);
+        verify(messageStreamHub).publish(petSitterId, messageDto);
+        verify(matchRepository, never()).findById(any());
+        verify(profileRepository, never()).findById(any());
+    }
+
+    @Test
+    void getConversationsForUser_ShouldReturnNextCursor_WhenMoreConversationsExist() {
+        // Given
+        List<ConversationSummaryDto> rows = IntStream.rangeClosed(0, 2)
+                .mapToObj(i -> new ConversationSummaryDto(i, petSitterId, 100 - i, "Bonjour", petSitterId, Instant.now(), i, null, null))
+                .toList();
+        when(conversationSummaryJdbcRepository.findPageForUser(ownerId, Integer.MAX_VALUE, 3)).thenReturn(rows);
+
+        // When
+        ConversationPageDto page = messageService.getConversationsForUser(ownerId, null, 2);
+
+        // Then
+        assertThat(page.getConversations()).extracting(ConversationSummaryDto::getLastMessageId).containsExactly(100, 99);
+        assertThat(MessageService.decodeCursor(page.getNextCursor())).isEqualTo(99);
+    }
+
+    @Test
+    void getConversationsForUser_ShouldReturnNoCursor_OnLastPage() {
+        // Given
+        when(conversationSummaryJdbcRepository.findPageForUser(ownerId, 99, MessageService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(new ConversationSummaryDto(1, petSitterId, 98, "Salut", ownerId, Instant.now(), 0, 98, 97)));
+
+        // When
+        ConversationPageDto page = messageService.getConversationsForUser(ownerId, MessageService.encodeCursor(99), null);
+
+        // Then
+        assertThat(page.getConversations()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private Message message(int id, Instant sentAt) {
+        Message message = new Message();
+        message.setId(id);
+        message.setSentAt(sentAt);
+        message.setMatch(match);
+        message.setSender(petSitter);
+        return message;
+    }
+
+    @Test
+    void getMessagesForMatch_ShouldReturnLatestPageInChronologicalOrder() {
+        // Given
+        Instant now = Instant.now();
+        when(matchRepository.findParticipantsById(7)).thenReturn(Optional.of(participants));
+        when(messageRepository.findLatestForMatch(7, Limit.of(3))).thenReturn(List.of(
+                message(30, now), message(20, now.minusSeconds(10)), message(10, now.minusSeconds(20))));
+        when(messageMapper.toDto(any(Message.class))).thenAnswer(invocation -> {
+            MessageDto dto = new MessageDto();
+            dto.setId(invocation.<Message>getArgument(0).getId());
+            return dto;
+        });
+
+        // When
+        MessagePageDto page = messageService.getMessagesForMatch(7, ownerId, null, null, 2);
+
+        // Then
+        assertThat(page.getMessages()).extracting(MessageDto::getId).containsExactly(20, 30);
+        MessageService.MessageCursor before = MessageService.decodeMessageCursor(page.getBeforeCursor());
+        assertThat(before).isEqualTo(new MessageService.MessageCursor(now.minusSeconds(10), 20));
+        assertThat(MessageService.decodeMessageCursor(page.getAfterCursor()).id()).isEqualTo(30);
+    }
+
+    @Test
+    void getMessagesForMatch_ShouldReadNewerMessages_WhenAfterCursorGiven() {
+        // Given
+        Instant sentAt = Instant.parse("2026-01-01T10:00:00.123456Z");
+        String after = MessageService.encodeMessageCursor(message(30, sentAt));
+        when(matchRepository.findParticipantsById(7)).thenReturn(Optional.of(participants));
+        when(messageRepository.findAfterForMatch(7, sentAt, 30, Limit.of(MessageService.DEFAULT_HISTORY_SIZE + 1)))
+                .thenReturn(List.of());
+
+        // When
+        MessagePageDto page = messageService.getMessagesForMatch(7, petSitterId, null, after, null);
+
+        // Then
+        assertThat(page.getMessages()).isEmpty();
+        assertThat(page.getAfterCursor()).isNull();
+        verify(messageRepository, never()).findLatestForMatch(any(), any());
+    }
+
+    @Test
+    void getMessagesForMatch_ShouldRejectBothCursors() {
+        // Given
+        when(matchRepository.findParticipantsById(7)).thenReturn(Optional.of(participants));
+
+        // When & Then
+        assertThatThrownBy(() -> messageService.getMessagesForMatch(7, ownerId, "a", "b", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void markConversationRead_ShouldResetConversation_AndReturnRemainingUnread() {
+        // Given
+        when(matchRepository.findParticipantsById(7)).thenReturn(Optional.of(participants));
+        when(conversationSummaryJdbcRepository.countUnread(ownerId)).thenReturn(4L);
+
+        // When
+        UnreadCountDto unread = messageService.markConversationRead(7, ownerId, 42);
+
+        // Then
+        verify(conversationSummaryJdbcRepository).markRead(ownerId, 7, 42);
+        assertThat(unread.getUnreadCount()).isEqualTo(4);
+    }
+
+    @Test
+    void markConversationRead_ShouldThrow_WhenUserNotParticipant() {
+        // Given
+        when(matchRepository.findParticipantsById(7)).thenReturn(Optional.of(participants));
+
+        // When & Then
+        assertThatThrownBy(() -> messageService.markConversationRead(7, UUID.randomUUID(), 42))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Vous n'êtes pas autorisé à voir cette conversation");
+        verify(conversationSummaryJdbcRepository, never()).markRead(any(), any(), anyInt());
+    }
+
+    @Test
+    void markConversationRead_ShouldRejectMissingLastSeenMessage() {
+        // When & Then
+        assertThatThrownBy(() -> messageService.markConversationRead(7, ownerId, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(conversationSummaryJdbcRepository);
+    }
+
+    @Test
+    void sendMessage_ShouldThrow_WhenMatchNotConfirmed() {
+        // Given
+        SendMessageRequest request = new SendMessageRequest();
+        request.setMatchId(7);
+        request.setContent("Bonjour");
+        when(matchRepository.findParticipantsById(7))
+                .thenReturn(Optional.of(new Participants(7, ownerId, petSitterId, false, "owner", "sitter")));
+
+        // When & Then
+        assertThatThrownBy(() -> messageService.sendMessage(ownerId, request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Le match doit être confirmé pour envoyer des messages");
+        verify(messageRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,142 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.MessagingProperties;
+import fr.petswap.backend.dto.MessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageStreamHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<RecordingEmitter> emitters;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emitters = new ArrayList<>();
+        userId = UUID.randomUUID();
+    }
+
+    private MessageStreamHub hub(Executor sender) {
+        MessagingProperties properties = new MessagingProperties(
+                new MessagingProperties.Stream(3, Duration.ofSeconds(25), Duration.ofMinutes(30), 2));
+        return new MessageStreamHub(properties, meterRegistry, sender, timeout -> {
+            RecordingEmitter emitter = new RecordingEmitter(timeout);
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    private static MessageDto message(int id) {
+        MessageDto message = new MessageDto();
+        message.setId(id);
+        message.setContent("Bonjour");
+        return message;
+    }
+
+    @Test
+    void publish_ShouldDeliverToEveryStreamOfTheUserOnly() {
+        // Given
+        MessageStreamHub hub = hub(Runnable::run);
+        hub.subscribe(userId);
+        hub.subscribe(userId);
+        hub.subscribe(UUID.randomUUID());
+
+        // When
+        hub.publish(userId, message(42));
+
+        // Then
+        assertThat(emitters.get(0).events()).containsExactly(":connected", "id:42|event:message");
+        assertThat(emitters.get(1).events()).containsExactly(":connected", "id:42|event:message");
+        assertThat(emitters.get(2).events()).containsExactly(":connected");
+    }
+
+    @Test
+    void publish_ShouldEvictSlowConsumer_WhenBufferIsFull() {
+        // Given : l'envoi n'est jamais exécuté, le tampon se remplit
+        MessageStreamHub hub = hub(task -> { });
+        hub.subscribe(userId);
+
+        // When
+        for (int i = 1; i <= 3; i++) {
+            hub.publish(userId, message(i));
+        }
+
+        // Then
+        assertThat(emitters.get(0).completed).isTrue();
+        assertThat(hub.streamCount(userId)).isZero();
+        assertThat(meterRegistry.counter("petswap.messages.streams.evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_ShouldCloseOldestStream_WhenUserExceedsLimit() {
+        // Given
+        MessageStreamHub hub = hub(Runnable::run);
+        hub.subscribe(userId);
+        hub.subscribe(userId);
+
+        // When
+        hub.subscribe(userId);
+
+        // Then
+        assertThat(emitters.get(0).completed).isTrue();
+        assertThat(emitters.get(1).completed).isFalse();
+        assertThat(hub.streamCount(userId)).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeat_ShouldSendCommentToOpenStreams() {
+        // Given
+        MessageStreamHub hub = hub(Runnable::run);
+        hub.subscribe(userId);
+
+        // When
+        hub.heartbeat();
+
+        // Then
+        assertThat(emitters.get(0).events()).containsExactly(":connected", ":ping");
+    }
+
+    /**
+     * Émetteur qui garde les événements envoyés au lieu de les écrire dans une réponse HTTP
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new ArrayList<>();
+        private boolean completed;
+
+        RecordingEmitter(Long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            // Seules les lignes de métadonnées (id, event, commentaire) sont conservées
+            sent.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .flatMap(String::lines)
+                    .filter(line -> line.startsWith("id:") || line.startsWith("event:") || line.startsWith(":"))
+                    .collect(Collectors.joining("|")));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> events() {
+            return sent;
+        }
+    }
+}
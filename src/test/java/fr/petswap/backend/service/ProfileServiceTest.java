@@ -1,5 +1,6 @@
 package fr.petswap.backend.service;
 
+import fr.petswap.backend.config.PrincipalCache;
 import fr.petswap.backend.dao.jpa.Profile;
 import fr.petswap.backend.dao.repository.ProfileRepository;
 import fr.petswap.backend.dto.ProfileDto;
@@ -33,6 +34,9 @@ class ProfileServiceTest {
     @Mock
     private ProfileMapper profileMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private ProfileService profileService;
 
@@ -167,6 +171,23 @@ class ProfileServiceTest {
         verify(profileRepository).existsByUsername("updateduser");
         verify(profileRepository).save(any(Profile.class));
         verify(profileMapper).toDto(updatedProfile);
+        verify(principalCache).invalidate(profileId);
+    }
+
+    @Test
+    void updateProfile_ShouldKeepCachedPrincipal_WhenUsernameAndRoleAreUnchanged() {
+        // Given
+        UpdateProfileRequest bioOnly = new UpdateProfileRequest();
+        bioOnly.setBio("Nouvelle bio");
+        when(profileRepository.findById(profileId)).thenReturn(Optional.of(profile));
+        when(profileRepository.save(any(Profile.class))).thenReturn(profile);
+        when(profileMapper.toDto(profile)).thenReturn(profileDto);
+
+        // When
+        profileService.updateProfile(profileId, bioOnly);
+
+        // Then
+        verifyNoInteractions(principalCache);
     }
 
     @Test
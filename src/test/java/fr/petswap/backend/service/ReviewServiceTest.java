@@ -7,9 +7,12 @@ import fr.petswap.backend.dao.jpa.Review;
 import fr.petswap.backend.dao.jpa.Listing;
 import fr.petswap.backend.dao.repository.BookingRepository;
 import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dao.repository.RatingHistogramJdbcRepository;
 import fr.petswap.backend.dao.repository.ReviewRepository;
 import fr.petswap.backend.dto.CreateReviewRequest;
 import fr.petswap.backend.dto.ReviewDto;
+import fr.petswap.backend.dto.ReviewPageDto;
+import fr.petswap.backend.dto.ReviewSummaryDto;
 import fr.petswap.backend.dto.ReviewStatusDto;
 import fr.petswap.backend.mapper.ReviewMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,10 +21,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,6 +48,9 @@ class ReviewServiceTest {
     @Mock
     private ProfileRepository profileRepository;
 
+    @Mock
+    private RatingHistogramJdbcRepository ratingHistogramJdbcRepository;
+
     @Mock
     private ReviewMapper reviewMapper;
 
@@ -121,6 +131,7 @@ class ReviewServiceTest {
         when(profileRepository.findById(petSitterId)).thenReturn(Optional.of(reviewer));
         when(profileRepository.findById(ownerId)).thenReturn(Optional.of(reviewedUser));
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
+        when(profileRepository.addRating(ownerId, 5)).thenReturn(1);
         when(reviewMapper.toDto(review)).thenReturn(reviewDto);
 
         // When
@@ -130,6 +141,9 @@ class ReviewServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getRating()).isEqualTo(5);
         verify(reviewRepository).save(any(Review.class));
+        verify(profileRepository).addRating(ownerId, 5);
+        verify(ratingHistogramJdbcRepository).increment(ownerId, 5);
+        verify(profileRepository, never()).save(any(Profile.class));
     }
 
     @Test
@@ -195,25 +209,34 @@ class ReviewServiceTest {
         assertThat(result.get(0).getRating()).isEqualTo(5);
     }
 
+    private record StatusRow(Integer getBookingId, UUID getOwnerId, UUID getPetSitterId,
+                             Booking.BookingStatus getStatus, Long getOwnerReviews, Long getSitterReviews)
+            implements ReviewRepository.ReviewStatusRow {
+    }
+
+    private void givenStatus(Booking.BookingStatus status, long ownerReviews, long sitterReviews) {
+        when(reviewRepository.findReviewStatuses(List.of(1)))
+                .thenReturn(List.of(new StatusRow(1, ownerId, petSitterId, status, ownerReviews, sitterReviews)));
+    }
+
     @Test
     void canUserReviewBooking_ShouldReturnTrue_WhenUserCanReview() {
         // Given
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
-        when(reviewRepository.findByBookingIdAndReviewerId(1, petSitterId))
-                .thenReturn(Optional.empty());
+        givenStatus(Booking.BookingStatus.COMPLETED, 1, 0);
 
         // When
         boolean result = reviewService.canUserReviewBooking(petSitterId, 1);
 
         // Then
         assertThat(result).isTrue();
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void canUserReviewBooking_ShouldReturnFalse_WhenUserNotParticipant() {
         // Given
         UUID unauthorizedUserId = UUID.randomUUID();
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
+        givenStatus(Booking.BookingStatus.COMPLETED, 0, 0);
 
         // When
         boolean result = reviewService.canUserReviewBooking(unauthorizedUserId, 1);
@@ -225,8 +248,7 @@ class ReviewServiceTest {
     @Test
     void canUserReviewBooking_ShouldReturnFalse_WhenBookingNotCompleted() {
         // Given
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
+        givenStatus(Booking.BookingStatus.CONFIRMED, 0, 0);
 
         // When
         boolean result = reviewService.canUserReviewBooking(petSitterId, 1);
@@ -238,9 +260,7 @@ class ReviewServiceTest {
     @Test
     void canUserReviewBooking_ShouldReturnFalse_WhenReviewAlreadyExists() {
         // Given
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
-        when(reviewRepository.findByBookingIdAndReviewerId(1, petSitterId))
-                .thenReturn(Optional.of(review));
+        givenStatus(Booking.BookingStatus.COMPLETED, 0, 1);
 
         // When
         boolean result = reviewService.canUserReviewBooking(petSitterId, 1);
@@ -248,4 +268,88 @@ class ReviewServiceTest {
         // Then
         assertThat(result).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getReviewStatus_ShouldReadBothFlags_FromSingleQuery() {
+        // Given
+        givenStatus(Booking.BookingStatus.COMPLETED, 1, 0);
+
+        // When
+        ReviewStatusDto status = reviewService.getReviewStatus(1);
+
+        // Then
+        assertThat(status.isOwnerReviewedSitter()).isTrue();
+        assertThat(status.isSitterReviewedOwner()).isFalse();
+        assertThat(status.getCanReview()).isNull();
+        verify(reviewRepository, never()).findByBookingIdAndReviewerId(any(), any());
+    }
+
+    @Test
+    void getReviewStatuses_ShouldComputeCanReviewForEachBooking() {
+        // Given
+        UUID otherOwnerId = UUID.randomUUID();
+        when(reviewRepository.findReviewStatuses(Set.of(1, 2))).thenReturn(List.of(
+                new StatusRow(1, ownerId, petSitterId, Booking.BookingStatus.COMPLETED, 0L, 0L),
+                new StatusRow(2, otherOwnerId, petSitterId, Booking.BookingStatus.COMPLETED, 0L, 1L)));
+
+        // When
+        List<ReviewStatusDto> statuses = reviewService.getReviewStatuses(petSitterId, List.of(1, 2, 2));
+
+        // Then
+        assertThat(statuses).extracting(ReviewStatusDto::getBookingId).containsExactly(1, 2);
+        assertThat(statuses).extracting(ReviewStatusDto::getCanReview).containsExactly(true, false);
+    }
+
+    @Test
+    void getReviewStatuses_ShouldSkipBookings_WhereUserIsNotParticipant() {
+        // Given
+        when(reviewRepository.findReviewStatuses(Set.of(1, 2))).thenReturn(List.of(
+                new StatusRow(1, ownerId, petSitterId, Booking.BookingStatus.COMPLETED, 0L, 0L),
+                new StatusRow(2, UUID.randomUUID(), UUID.randomUUID(), Booking.BookingStatus.COMPLETED, 0L, 0L)));
+
+        // When
+        List<ReviewStatusDto> statuses = reviewService.getReviewStatuses(ownerId, List.of(1, 2));
+
+        // Then
+        assertThat(statuses).extracting(ReviewStatusDto::getBookingId).containsExactly(1);
+    }
+
+    @Test
+    void getReviewSummary_ShouldComputeCountAndAverage_FromHistogram() {
+        // Given
+        Map<Integer, Long> histogram = new LinkedHashMap<>(Map.of(1, 0L, 2, 0L, 3, 1L, 4, 1L, 5, 2L));
+        ReviewRepository.ReviewListItem latest = mock(ReviewRepository.ReviewListItem.class);
+        when(ratingHistogramJdbcRepository.findByUserId(ownerId)).thenReturn(histogram);
+        when(reviewRepository.findPageForUser(ownerId, Integer.MAX_VALUE, Limit.of(ReviewService.SUMMARY_LATEST_REVIEWS)))
+                .thenReturn(List.of(latest));
+        when(reviewMapper.toDto(latest)).thenReturn(reviewDto);
+
+        // When
+        ReviewSummaryDto summary = reviewService.getReviewSummary(ownerId);
+
+        // Then
+        assertThat(summary.getCount()).isEqualTo(4);
+        assertThat(summary.getAverage()).isEqualTo(4.3); // (3 + 4 + 5 + 5) / 4 = 4.25
+        assertThat(summary.getHistogram()).isEqualTo(histogram);
+        assertThat(summary.getLatestReviews()).containsExactly(reviewDto);
+    }
+
+    @Test
+    void getReviewsForUser_ShouldReturnCursor_WhenMoreReviewsExist() {
+        // Given
+        ReviewRepository.ReviewListItem first = mock(ReviewRepository.ReviewListItem.class);
+        ReviewRepository.ReviewListItem second = mock(ReviewRepository.ReviewListItem.class);
+        ReviewDto firstDto = new ReviewDto();
+        firstDto.setId(42);
+        when(reviewRepository.findPageForUser(ownerId, Integer.MAX_VALUE, Limit.of(2))).thenReturn(List.of(first, second));
+        when(reviewMapper.toDto(first)).thenReturn(firstDto);
+
+        // When
+        ReviewPageDto page = reviewService.getReviewsForUser(ownerId, null, 1);
+
+        // Then
+        assertThat(page.getReviews()).containsExactly(firstDto);
+        assertThat(ReviewService.decodeCursor(page.getNextCursor())).isEqualTo(42);
+        verify(reviewMapper, never()).toDto(second);
+    }
+}
@@ -0,0 +1,132 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.StatisticsProperties;
+import fr.petswap.backend.dao.repository.DailyStatsJdbcRepository;
+import fr.petswap.backend.dao.repository.DailyStatsJdbcRepository.Increment;
+import fr.petswap.backend.dto.TimeseriesDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsRollupServiceTest {
+
+    @Mock
+    private DailyStatsJdbcRepository dailyStatsJdbcRepository;
+
+    private StatisticsRollupService rollupService;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new StatisticsRollupService(dailyStatsJdbcRepository,
+                new StatisticsProperties(Duration.ofMinutes(5), new StatisticsProperties.Rollups(Duration.ofSeconds(10), 31)));
+        today = LocalDate.now();
+    }
+
+    @Test
+    void flush_ShouldWriteOneIncrementPerMetricAndDay() {
+        // Given
+        rollupService.record(StatisticsMetric.SWIPES);
+        rollupService.record(StatisticsMetric.SWIPES, 4);
+        rollupService.record(StatisticsMetric.BOOKED_REVENUE, 120.5);
+
+        // When
+        rollupService.flush();
+        rollupService.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Increment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailyStatsJdbcRepository, times(1)).increment(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                new Increment(today, "swipes", 5),
+                new Increment(today, "booked-revenue", 120.5));
+    }
+
+    @Test
+    void record_ShouldWaitForCommit_InsideTransaction() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rollupService.record(StatisticsMetric.MATCHES);
+            rollupService.flush();
+            verify(dailyStatsJdbcRepository, never()).increment(anyList());
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        rollupService.flush();
+
+        // Then
+        verify(dailyStatsJdbcRepository).increment(List.of(new Increment(today, "matches", 1)));
+    }
+
+    @Test
+    void flush_ShouldKeepIncrements_WhenWriteFails() {
+        // Given
+        rollupService.record(StatisticsMetric.NEW_USERS);
+        doThrow(new DataAccessResourceFailureException("indisponible"))
+                .doNothing()
+                .when(dailyStatsJdbcRepository).increment(anyList());
+
+        // When
+        rollupService.flush();
+        rollupService.flush();
+
+        // Then
+        verify(dailyStatsJdbcRepository, times(2)).increment(List.of(new Increment(today, "new-users", 1)));
+    }
+
+    @Test
+    void getTimeseries_ShouldReturnOnePointPerDay_IncludingPendingEvents() {
+        // Given
+        LocalDate from = today.minusDays(2);
+        when(dailyStatsJdbcRepository.findSeries("swipes", from, today)).thenReturn(Map.of(from, 7.0, today, 3.0));
+        rollupService.record(StatisticsMetric.SWIPES, 2);
+
+        // When
+        TimeseriesDto series = rollupService.getTimeseries(StatisticsMetric.SWIPES, from, today);
+
+        // Then
+        assertThat(series.getPoints()).extracting(TimeseriesDto.Point::getValue).containsExactly(7.0, 0.0, 5.0);
+        assertThat(series.getPoints()).extracting(TimeseriesDto.Point::getDate)
+                .containsExactly(from, from.plusDays(1), today);
+    }
+
+    @Test
+    void getTimeseries_ShouldRejectTooLongPeriod() {
+        // When & Then
+        assertThatThrownBy(() -> rollupService.getTimeseries(StatisticsMetric.SWIPES, today.minusDays(31), today))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("La période ne peut pas dépasser 31 jours");
+        verify(dailyStatsJdbcRepository, never()).findSeries(any(), any(), any());
+    }
+
+    @Test
+    void fromKey_ShouldRejectUnknownMetric() {
+        // When & Then
+        assertThatThrownBy(() -> StatisticsMetric.fromKey("revenue"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Indicateur inconnu : revenue");
+    }
+}
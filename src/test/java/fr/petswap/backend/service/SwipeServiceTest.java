@@ -0,0 +1,456 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.dao.jpa.Listing;
+import fr.petswap.backend.dao.jpa.Match;
+import fr.petswap.backend.dao.jpa.Profile;
+import fr.petswap.backend.dao.jpa.Swipe;
+import fr.petswap.backend.dao.repository.ListingRepository;
+import fr.petswap.backend.dao.repository.MatchRepository;
+import fr.petswap.backend.dao.repository.ProfileRepository;
+import fr.petswap.backend.dao.repository.SwipeJdbcRepository;
+import fr.petswap.backend.dao.repository.SwipeRepository;
+import fr.petswap.backend.dto.DiscoverPageDto;
+import fr.petswap.backend.dto.ListingDto;
+import fr.petswap.backend.dto.SwipeBatchResultDto;
+import fr.petswap.backend.dto.SwipeDto;
+import fr.petswap.backend.dto.SwipeRequest;
+import fr.petswap.backend.mapper.ListingMapper;
+import fr.petswap.backend.mapper.MatchMapper;
+import fr.petswap.backend.mapper.SwipeMapper;
+import fr.petswap.backend.service.ranking.ListingRanker;
+import fr.petswap.backend.service.ranking.RankingCandidate;
+import fr.petswap.backend.service.ranking.ScoredListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SwipeServiceTest {
+
+    @Mock
+    private SwipeRepository swipeRepository;
+
+    @Mock
+    private SwipeJdbcRepository swipeJdbcRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private SwipeMapper swipeMapper;
+
+    @Mock
+    private MatchMapper matchMapper;
+
+    @Mock
+    private ListingMapper listingMapper;
+
+    @Mock
+    private SwipedListingCache swipedListingCache;
+
+    @Mock
+    private ListingService listingService;
+
+    @Mock
+    private ListingRanker listingRanker;
+
+    @Mock
+    private StatisticsRollupService statisticsRollupService;
+
+    @InjectMocks
+    private SwipeService swipeService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+    }
+
+    private static List<Listing> listings(List<Integer> ids) {
+        return ids.stream()
+                .map(id -> {
+                    Listing listing = new Listing();
+                    listing.setId(id);
+                    return listing;
+                })
+                .toList();
+    }
+
+    @Test
+    void getUnswipedListingsPage_ShouldSkipSwipedListings_AndReturnNextCursor() {
+        // Given
+        Set<Integer> swiped = Set.of(2);
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(swiped::contains);
+        when(listingRepository.findActiveListingIdsAfter(userId, 0, Limit.of(SwipeService.DISCOVER_SCAN_CHUNK)))
+                .thenReturn(List.of(1, 2, 3, 4));
+        when(listingRepository.findAllById(List.of(1, 3))).thenReturn(listings(List.of(3, 1)));
+        when(listingMapper.toDto(any(Listing.class))).thenAnswer(invocation -> {
+            ListingDto dto = new ListingDto();
+            dto.setId(invocation.<Listing>getArgument(0).getId());
+            return dto;
+        });
+
+        // When
+        DiscoverPageDto page = swipeService.getUnswipedListingsPage(userId, null, 2);
+
+        // Then
+        assertThat(page.getListings()).extracting(ListingDto::getId).containsExactly(1, 3);
+        assertThat(page.getNextCursor()).isEqualTo(SwipeService.encodeCursor(3));
+    }
+
+    @Test
+    void getUnswipedListingsPage_ShouldScanFollowingChunks_WhenChunkIsFullySwiped() {
+        // Given
+        List<Integer> firstChunk = IntStream.rangeClosed(1, SwipeService.DISCOVER_SCAN_CHUNK).boxed().toList();
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> id <= SwipeService.DISCOVER_SCAN_CHUNK);
+        when(listingRepository.findActiveListingIdsAfter(userId, 0, Limit.of(SwipeService.DISCOVER_SCAN_CHUNK)))
+                .thenReturn(firstChunk);
+        when(listingRepository.findActiveListingIdsAfter(userId, SwipeService.DISCOVER_SCAN_CHUNK, Limit.of(SwipeService.DISCOVER_SCAN_CHUNK)))
+                .thenReturn(List.of(500));
+        when(listingRepository.findAllById(List.of(500))).thenReturn(listings(List.of(500)));
+        when(listingMapper.toDto(any(Listing.class))).thenReturn(new ListingDto());
+
+        // When
+        DiscoverPageDto page = swipeService.getUnswipedListingsPage(userId, SwipeService.encodeCursor(0), 10);
+
+        // Then
+        assertThat(page.getListings()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getUnswipedListingsPage_ShouldFinishWithAntiJoin_AfterMaxScannedChunks() {
+        // Given : tous les blocs parcourus en mémoire sont déjà swipés
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> true);
+        when(listingRepository.findActiveListingIdsAfter(eq(userId), anyInt(), eq(Limit.of(SwipeService.DISCOVER_SCAN_CHUNK))))
+                .thenAnswer(invocation -> {
+                    int afterId = invocation.getArgument(1);
+                    return IntStream.rangeClosed(afterId + 1, afterId + SwipeService.DISCOVER_SCAN_CHUNK).boxed().toList();
+                });
+        int lastScanned = SwipeService.MAX_DISCOVER_SCAN_CHUNKS * SwipeService.DISCOVER_SCAN_CHUNK;
+        when(swipeRepository.findUnswipedListingIdsAfter(userId, lastScanned, 3)).thenReturn(List.of(5000));
+        when(listingRepository.findAllById(List.of(5000))).thenReturn(listings(List.of(5000)));
+        when(listingMapper.toDto(any(Listing.class))).thenReturn(new ListingDto());
+
+        // When
+        DiscoverPageDto page = swipeService.getUnswipedListingsPage(userId, null, 2);
+
+        // Then
+        assertThat(page.getListings()).hasSize(1);
+        verify(listingRepository, times(SwipeService.MAX_DISCOVER_SCAN_CHUNKS))
+                .findActiveListingIdsAfter(eq(userId), anyInt(), any(Limit.class));
+    }
+
+    private record Candidate(Integer getId, LocalDate getStartDate, LocalDate getEndDate, Double getPricePerDay,
+                             Double getLatitude, Double getLongitude, Instant getCreatedAt, Float getOwnerRating)
+            implements RankingCandidate {
+        Candidate(int id) {
+            this(id, null, null, null, null, null, null, null);
+        }
+    }
+
+    @Test
+    void getRankedListings_ShouldRankNewestCandidates_AndLoadOnlyKeptListings() {
+        // Given
+        List<RankingCandidate> candidates = List.of(new Candidate(9), new Candidate(8), new Candidate(3));
+        when(listingRanker.maxCandidates()).thenReturn(500);
+        when(listingRepository.findNewestRankingCandidates(userId, Limit.of(500))).thenReturn(candidates);
+        when(listingRanker.rank(candidates, null, null, null, null, 2)).thenReturn(List.of(
+                new ScoredListing(candidates.get(2), 0.9), new ScoredListing(candidates.get(0), 0.4)));
+        when(listingRepository.findAllById(List.of(3, 9))).thenReturn(listings(List.of(9, 3)));
+        when(listingMapper.toDto(any(Listing.class))).thenAnswer(invocation -> {
+            ListingDto dto = new ListingDto();
+            dto.setId(invocation.<Listing>getArgument(0).getId());
+            return dto;
+        });
+
+        // When
+        List<ListingDto> ranked = swipeService.getRankedListings(userId, null, null, null, null, null, 2);
+
+        // Then
+        assertThat(ranked).extracting(ListingDto::getId).containsExactly(3, 9);
+        assertThat(ranked).extracting(ListingDto::getScore).containsExactly(0.9, 0.4);
+        verify(listingRepository, never()).findActiveListingIdsAfter(any(), anyInt(), any());
+    }
+
+    @Test
+    void getUnswipedListings_ShouldUseAntiJoin() {
+        // Given
+        when(swipeRepository.findUnswipedListingsForUser(userId)).thenReturn(listings(List.of(4, 9)));
+        when(listingMapper.toDto(any(Listing.class))).thenReturn(new ListingDto());
+
+        // When
+        List<ListingDto> listings = swipeService.getUnswipedListings(userId);
+
+        // Then
+        assertThat(listings).hasSize(2);
+        verifyNoInteractions(listingRepository, swipedListingCache);
+    }
+
+    @Test
+    void getUnswipedListingsPage_ShouldResumeAfterCursor() {
+        // Given
+        when(swipedListingCache.getSwipedFilter(userId)).thenReturn(id -> false);
+        when(listingRepository.findActiveListingIdsAfter(userId, 2, Limit.of(SwipeService.DISCOVER_SCAN_CHUNK)))
+                .thenReturn(List.of());
+        when(listingRepository.findAllById(List.of())).thenReturn(List.of());
+
+        // When
+        DiscoverPageDto page = swipeService.getUnswipedListingsPage(userId, SwipeService.encodeCursor(2), 10_000);
+
+        // Then
+        assertThat(page.getListings()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getUnswipedListingsPage_ShouldThrowException_WhenCursorIsInvalid() {
+        // When & Then
+        assertThatThrownBy(() -> swipeService.getUnswipedListingsPage(userId, "pas-un-curseur!", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Curseur invalide");
+        verifyNoInteractions(listingRepository);
+    }
+
+    @Test
+    void getNearbyUnswipedListingsPage_ShouldPassCursorToQuery_AndReturnNextCursor() {
+        // Given
+        ListingService.NearbyListing cursor = new ListingService.NearbyListing(3, 1.0);
+        when(listingService.findNearbyUnswipedListings(userId, 48.85, 2.35, 10.0, null, 3)).thenReturn(List.of(
+                new ListingService.NearbyListing(5, 0.5),
+                new ListingService.NearbyListing(3, 1.0),
+                new ListingService.NearbyListing(1, 2.5)));
+        when(listingService.findNearbyUnswipedListings(userId, 48.85, 2.35, 10.0, cursor, 3)).thenReturn(List.of(
+                new ListingService.NearbyListing(1, 2.5),
+                new ListingService.NearbyListing(4, 7.0)));
+        when(listingRepository.findAllById(any())).thenAnswer(invocation -> listings(invocation.getArgument(0)));
+        when(listingMapper.toDto(any(Listing.class))).thenAnswer(invocation -> {
+            ListingDto dto = new ListingDto();
+            dto.setId(invocation.<Listing>getArgument(0).getId());
+            return dto;
+        });
+
+        // When
+        DiscoverPageDto first = swipeService.getNearbyUnswipedListingsPage(userId, 48.85, 2.35, 10.0, null, 2);
+        DiscoverPageDto second = swipeService.getNearbyUnswipedListingsPage(userId, 48.85, 2.35, 10.0, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(SwipeService.decodeNearbyCursor(first.getNextCursor())).isEqualTo(cursor);
+        assertThat(first.getListings()).extracting(ListingDto::getId).containsExactly(5, 3);
+        assertThat(first.getListings()).extracting(ListingDto::getDistanceKm).containsExactly(0.5, 1.0);
+        assertThat(second.getListings()).extracting(ListingDto::getId).containsExactly(1, 4);
+        assertThat(second.getNextCursor()).isNull();
+        verifyNoInteractions(swipedListingCache);
+    }
+
+    private static SwipeRequest swipeRequest(Integer listingId, String direction) {
+        SwipeRequest request = new SwipeRequest();
+        request.setListingId(listingId);
+        request.setDirection(direction);
+        return request;
+    }
+
+    private static ListingRepository.ListingOwner listingOwner(Integer id, UUID ownerId) {
+        return new ListingRepository.ListingOwner() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getOwnerId() {
+                return ownerId;
+            }
+        };
+    }
+
+    @Test
+    void swipeOnListings_ShouldReportPerItemResults_AndInsertInBatch() {
+        // Given
+        UUID ownerId = UUID.randomUUID();
+        List<SwipeRequest> requests = List.of(
+                swipeRequest(1, "LIKE"),
+                swipeRequest(2, "PASS"),
+                swipeRequest(1, "PASS"),
+                swipeRequest(3, "LIKE"),
+                swipeRequest(4, "LIKE"),
+                swipeRequest(5, "LIKE"),
+                swipeRequest(6, "MAYBE"));
+        when(listingRepository.findOwnersByIdIn(Set.of(1, 2, 3, 4, 5, 6))).thenReturn(List.of(
+                listingOwner(1, ownerId), listingOwner(2, ownerId), listingOwner(3, ownerId),
+                listingOwner(4, userId), listingOwner(6, ownerId)));
+        when(swipeRepository.findSwipedListingIdsIn(userId, Set.of(1, 2, 3, 4, 5, 6))).thenReturn(List.of(3));
+        when(matchRepository.findMatchedListingIdsIn(userId, Set.of(1, 2, 3, 4, 5, 6))).thenReturn(List.of());
+        when(swipeJdbcRepository.insertSwipes(eq(userId), any())).thenReturn(Set.of(1, 2));
+
+        // When
+        List<SwipeBatchResultDto> results = swipeService.swipeOnListings(userId, requests);
+
+        // Then
+        assertThat(results).extracting(SwipeBatchResultDto::getStatus).containsExactly(
+                SwipeBatchResultDto.Status.CREATED,
+                SwipeBatchResultDto.Status.CREATED,
+                SwipeBatchResultDto.Status.DUPLICATE,
+                SwipeBatchResultDto.Status.DUPLICATE,
+                SwipeBatchResultDto.Status.OWN_LISTING,
+                SwipeBatchResultDto.Status.NOT_FOUND,
+                SwipeBatchResultDto.Status.INVALID);
+        verify(swipeJdbcRepository).insertSwipes(userId, List.of(
+                new SwipeJdbcRepository.SwipeRow(1, Swipe.SwipeDirection.LIKE),
+                new SwipeJdbcRepository.SwipeRow(2, Swipe.SwipeDirection.PASS)));
+        verify(swipeJdbcRepository).insertPendingMatches(userId, List.of(1));
+        verify(swipedListingCache).markSwiped(userId, 1);
+        verify(swipedListingCache).markSwiped(userId, 2);
+    }
+
+    @Test
+    void swipeOnListings_ShouldReportDuplicate_WhenRowSkippedByConflict() {
+        // Given : l'annonce 2 a été swipée par un rejeu concurrent entre la lecture et l'insertion
+        UUID ownerId = UUID.randomUUID();
+        List<SwipeRequest> requests = List.of(swipeRequest(1, "LIKE"), swipeRequest(2, "LIKE"));
+        when(listingRepository.findOwnersByIdIn(Set.of(1, 2))).thenReturn(List.of(
+                listingOwner(1, ownerId), listingOwner(2, ownerId)));
+        when(swipeRepository.findSwipedListingIdsIn(userId, Set.of(1, 2))).thenReturn(List.of());
+        when(matchRepository.findMatchedListingIdsIn(userId, Set.of(1, 2))).thenReturn(List.of());
+        when(swipeJdbcRepository.insertSwipes(eq(userId), any())).thenReturn(Set.of(1));
+        when(swipeJdbcRepository.insertPendingMatches(userId, List.of(1))).thenReturn(1);
+
+        // When
+        List<SwipeBatchResultDto> results = swipeService.swipeOnListings(userId, requests);
+
+        // Then
+        assertThat(results).extracting(SwipeBatchResultDto::getStatus).containsExactly(
+                SwipeBatchResultDto.Status.CREATED,
+                SwipeBatchResultDto.Status.DUPLICATE);
+        verify(swipedListingCache, never()).markSwiped(userId, 2);
+        verify(statisticsRollupService).record(StatisticsMetric.SWIPES, 1);
+        verify(statisticsRollupService).record(StatisticsMetric.MATCHES, 1);
+    }
+
+    @Test
+    void swipeOnListings_ShouldThrowException_WhenBatchIsTooLarge() {
+        // Given
+        List<SwipeRequest> requests = IntStream.rangeClosed(0, SwipeService.MAX_BATCH_SWIPES)
+                .mapToObj(id -> swipeRequest(id, "LIKE"))
+                .toList();
+
+        // When & Then
+        assertThatThrownBy(() -> swipeService.swipeOnListings(userId, requests))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(swipeJdbcRepository);
+    }
+
+    private Listing ownedListing(int id, UUID ownerId) {
+        Profile owner = new Profile();
+        owner.setId(ownerId);
+        Listing listing = new Listing();
+        listing.setId(id);
+        listing.setOwner(owner);
+        return listing;
+    }
+
+    @Test
+    void swipeOnListing_ShouldInsertSwipeAndPendingMatch_WhenLike() {
+        // Given
+        Profile swiper = new Profile();
+        swiper.setId(userId);
+        Listing listing = ownedListing(1, UUID.randomUUID());
+        when(profileRepository.findById(userId)).thenReturn(Optional.of(swiper));
+        when(listingRepository.findById(1)).thenReturn(Optional.of(listing));
+        when(swipeJdbcRepository.insertSwipeIfAbsent(userId, 1, Swipe.SwipeDirection.LIKE))
+                .thenReturn(Optional.of(new SwipeJdbcRepository.InsertedSwipe(10, Instant.now())));
+        when(swipeMapper.toDto(any(Swipe.class))).thenReturn(new SwipeDto());
+
+        // When
+        SwipeDto result = swipeService.swipeOnListing(userId, swipeRequest(1, "LIKE"));
+
+        // Then
+        assertThat(result).isNotNull();
+        verify(swipeJdbcRepository).insertPendingMatchIfAbsent(userId, 1);
+        verify(swipedListingCache).markSwiped(userId, 1);
+        verify(swipeRepository, never()).save(any(Swipe.class));
+    }
+
+    @Test
+    void swipeOnListing_ShouldThrowException_WhenAlreadySwiped() {
+        // Given
+        when(profileRepository.findById(userId)).thenReturn(Optional.of(new Profile()));
+        when(listingRepository.findById(1)).thenReturn(Optional.of(ownedListing(1, UUID.randomUUID())));
+        when(swipeJdbcRepository.insertSwipeIfAbsent(userId, 1, Swipe.SwipeDirection.PASS)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> swipeService.swipeOnListing(userId, swipeRequest(1, "PASS")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Vous avez déjà swipé sur cette annonce");
+        verify(swipeJdbcRepository, never()).insertPendingMatchIfAbsent(any(UUID.class), anyInt());
+    }
+
+    private Match ownedMatch() {
+        Profile owner = new Profile();
+        owner.setId(userId);
+        Listing listing = new Listing();
+        listing.setOwner(owner);
+        Match match = new Match();
+        match.setId(9);
+        match.setListing(listing);
+        return match;
+    }
+
+    @Test
+    void respondToMatch_ShouldRecordConfirmation_WhenMatchBecomesConfirmed() {
+        // Given
+        Match match = ownedMatch();
+        when(matchRepository.findById(9)).thenReturn(Optional.of(match));
+        when(matchRepository.confirmByOwner(9)).thenReturn(1);
+
+        // When
+        swipeService.respondToMatch(userId, 9, true);
+
+        // Then
+        assertThat(match.isOwnerLikedBack()).isTrue();
+        verify(statisticsRollupService).record(StatisticsMetric.MATCHES_CONFIRMED);
+        verify(matchRepository, never()).save(any());
+    }
+
+    @Test
+    void respondToMatch_ShouldNotRecordConfirmationAgain_WhenAlreadyConfirmed() {
+        // Given
+        Match match = ownedMatch();
+        match.setOwnerLikedBack(true);
+        when(matchRepository.findById(9)).thenReturn(Optional.of(match));
+        when(matchRepository.confirmByOwner(9)).thenReturn(0);
+
+        // When
+        swipeService.respondToMatch(userId, 9, true);
+
+        // Then
+        verifyNoInteractions(statisticsRollupService);
+        verify(matchRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,153 @@
+package fr.petswap.backend.service;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import fr.petswap.backend.dao.repository.SwipeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SwipedListingCacheTest {
+
+    @Mock
+    private SwipeRepository swipeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SwipedListingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SwipedListingCache(swipeRepository,
+                new DiscoverProperties(new DiscoverProperties.SwipedCache(2, 1_000_000), null, null), meterRegistry);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("petswap.swiped_listings.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    void getSwipedFilter_ShouldLoadOnce_ThenServeFromCache() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(swipeRepository.findSwipedListingIds(userId)).thenReturn(List.of(3, 7));
+
+        // When
+        IntPredicate first = cache.getSwipedFilter(userId);
+        IntPredicate second = cache.getSwipedFilter(userId);
+
+        // Then
+        assertThat(first.test(3)).isTrue();
+        assertThat(first.test(4)).isFalse();
+        assertThat(second.test(7)).isTrue();
+        verify(swipeRepository, times(1)).findSwipedListingIds(userId);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void markSwiped_ShouldUpdateCachedEntryInPlace() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(swipeRepository.findSwipedListingIds(userId)).thenReturn(List.of(1));
+        IntPredicate before = cache.getSwipedFilter(userId);
+
+        // When
+        cache.markSwiped(userId, 42);
+
+        // Then
+        assertThat(before.test(42)).isTrue();
+        assertThat(cache.getSwipedFilter(userId).test(42)).isTrue();
+        verify(swipeRepository, times(1)).findSwipedListingIds(userId);
+    }
+
+    @Test
+    void markSwiped_ShouldKeepEntrySmall_ForLargeListingIds() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(swipeRepository.findSwipedListingIds(userId)).thenReturn(List.of(1, 2, 3));
+        cache.getSwipedFilter(userId);
+
+        // When
+        cache.markSwiped(userId, 50_000_000);
+
+        // Then : un BitSet aurait occupé plus de 6 Mo
+        assertThat(cache.getSwipedFilter(userId).test(50_000_000)).isTrue();
+        assertThat(cache.usedBytes()).isLessThan(1_000);
+    }
+
+    @Test
+    void getSwipedFilter_ShouldEvictLeastRecentlyUsedEntry_WhenFull() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(swipeRepository.findSwipedListingIds(any(UUID.class))).thenReturn(List.of());
+
+        // When
+        cache.getSwipedFilter(first);
+        cache.getSwipedFilter(second);
+        cache.getSwipedFilter(first);
+        cache.getSwipedFilter(third);
+        cache.getSwipedFilter(first);
+        cache.getSwipedFilter(second);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("petswap.swiped_listings.cache.evictions").counter().count()).isEqualTo(2);
+        verify(swipeRepository, times(2)).findSwipedListingIds(second);
+        verify(swipeRepository, times(1)).findSwipedListingIds(first);
+    }
+
+    @Test
+    void markSwiped_ShouldWaitForCommit_InsideTransaction() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(swipeRepository.findSwipedListingIds(userId)).thenReturn(List.of());
+        cache.getSwipedFilter(userId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.markSwiped(userId, 42);
+            assertThat(cache.getSwipedFilter(userId).test(42)).isFalse();
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(cache.getSwipedFilter(userId).test(42)).isTrue();
+    }
+
+    @Test
+    void getSwipedFilter_ShouldKeepSwipeCommittedWhileLoading() {
+        // Given : le swipe 42 est commité après la lecture en base mais avant l'installation de l'entrée
+        UUID userId = UUID.randomUUID();
+        when(swipeRepository.findSwipedListingIds(userId)).thenAnswer(invocation -> {
+            cache.markSwiped(userId, 42);
+            return List.of(1);
+        });
+
+        // When
+        IntPredicate swiped = cache.getSwipedFilter(userId);
+
+        // Then
+        assertThat(swiped.test(1)).isTrue();
+        assertThat(swiped.test(42)).isTrue();
+        assertThat(cache.getSwipedFilter(userId).test(42)).isTrue();
+    }
+}
@@ -0,0 +1,80 @@
+package fr.petswap.backend.service.ranking;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du classement des annonces candidates.
+ * Lancement : mvn test-compile puis exécuter {@link #main(String[])} avec le classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingRankerBenchmark {
+
+    @Param({"500", "5000"})
+    private int candidates;
+
+    private ListingRanker ranker;
+    private List<RankingCandidate> listings;
+    private RankingContext context;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ranker = new ListingRanker(
+                List.of(new DistanceScorer(), new DatesScorer(), new PriceScorer(), new OwnerRatingScorer(), new FreshnessScorer()),
+                new DiscoverProperties(null, null, new DiscoverProperties.Ranking(candidates, Map.of())));
+
+        Random random = new Random(42);
+        Instant now = Instant.now();
+        listings = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            float ownerRating = random.nextFloat() * 5;
+            LocalDate start = LocalDate.of(2026, 6, 1).plusDays(random.nextInt(90));
+            listings.add(new ListingRankerTest.Candidate(i + 1, start, start.plusDays(1 + random.nextInt(14)),
+                    10 + random.nextDouble() * 40,
+                    48.85 + random.nextGaussian() * 0.2, 2.35 + random.nextGaussian() * 0.2,
+                    now.minus(random.nextInt(60 * 24), ChronoUnit.HOURS), ownerRating));
+        }
+        context = new RankingContext(48.85, 2.35, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), 50, now);
+    }
+
+    /**
+     * Coût du score d'une seule annonce (tous critères confondus)
+     */
+    @Benchmark
+    public ScoredListing scorePerCandidate() {
+        RankingCandidate listing = listings.get(next);
+        next = (next + 1) % candidates;
+        return ranker.score(listing, context);
+    }
+
+    /**
+     * Classement complet : score de tous les candidats puis sélection des 20 meilleurs
+     */
+    @Benchmark
+    public void rankTop20(Blackhole blackhole) {
+        blackhole.consume(ranker.rank(listings, 48.85, 2.35, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 31), 20));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ListingRankerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package fr.petswap.backend.service.ranking;
+
+import fr.petswap.backend.config.DiscoverProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ListingRankerTest {
+
+    private static final List<ListingScorer> SCORERS = List.of(
+            new DistanceScorer(), new DatesScorer(), new PriceScorer(), new OwnerRatingScorer(), new FreshnessScorer());
+
+    private static ListingRanker ranker(Map<String, Double> weights) {
+        return new ListingRanker(SCORERS, new DiscoverProperties(null, null,
+                new DiscoverProperties.Ranking(100, weights)));
+    }
+
+    record Candidate(Integer getId, LocalDate getStartDate, LocalDate getEndDate, Double getPricePerDay,
+                     Double getLatitude, Double getLongitude, Instant getCreatedAt, Float getOwnerRating)
+            implements RankingCandidate {
+    }
+
+    private static RankingCandidate listing(int id, double latitude, double longitude, double pricePerDay, float ownerRating) {
+        return new Candidate(id, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 10), pricePerDay,
+                latitude, longitude, Instant.now(), ownerRating);
+    }
+
+    @Test
+    void rank_ShouldReturnBestListingsFirst_AndKeepOnlyLimit() {
+        // Given
+        RankingCandidate near = listing(1, 48.86, 2.35, 20, 4);
+        RankingCandidate far = listing(2, 45.76, 4.83, 20, 4);
+        RankingCandidate nearAndWellRated = listing(3, 48.86, 2.35, 20, 5);
+
+        // When
+        List<ScoredListing> ranked = ranker(Map.of()).rank(List.of(near, far, nearAndWellRated),
+                48.85, 2.35, null, null, 2);
+
+        // Then
+        assertThat(ranked).extracting(scored -> scored.listing().getId()).containsExactly(3, 1);
+    }
+
+    @Test
+    void rank_ShouldIgnoreScorer_WhenWeightIsZero() {
+        // Given
+        RankingCandidate cheapWellRated = listing(1, 48.86, 2.35, 10, 5);
+        RankingCandidate expensive = listing(2, 48.86, 2.35, 50, 1);
+
+        // When
+        List<ScoredListing> byPrice = ranker(Map.of("owner-rating", 0.0)).rank(List.of(cheapWellRated, expensive),
+                null, null, null, null, 2);
+        List<ScoredListing> byRating = ranker(Map.of("price", 0.0)).rank(List.of(cheapWellRated, expensive),
+                null, null, null, null, 2);
+
+        // Then
+        assertThat(byPrice).extracting(scored -> scored.listing().getId()).containsExactly(2, 1);
+        assertThat(byRating).extracting(scored -> scored.listing().getId()).containsExactly(1, 2);
+    }
+
+    @Test
+    void datesScorer_ShouldReturnCoveredShareOfListing() {
+        // Given
+        RankingCandidate listing = listing(1, 0, 0, 0, 0);
+        RankingContext context = new RankingContext(null, null,
+                LocalDate.of(2026, 7, 6), LocalDate.of(2026, 8, 1), 0, Instant.now());
+
+        // When
+        double score = new DatesScorer().score(listing, context);
+
+        // Then
+        assertThat(score).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void topK_ShouldMatchFullSort() {
+        // Given
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(random.nextInt(500));
+        }
+
+        // When
+        List<Integer> best = TopK.select(values, Comparator.naturalOrder(), 25);
+
+        // Then
+        assertThat(best).containsExactlyElementsOf(values.stream().sorted(Comparator.reverseOrder()).limit(25).toList());
+    }
+}